@@ -1,22 +1,25 @@
 package graphpathfinding;
 
-import priorityqueues.ArrayHeapMinPQ;
-import priorityqueues.ExtrinsicMinPQ;
+import graphpathfinding.SearchWorkspace.State;
 import timing.Timer;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
+ * A* search on any {@link AStarGraph}, keeping the per-vertex search state in a
+ * {@link SearchWorkspace} that is reset (not reallocated) at the start of every search. This means
+ * that an instance may be used for any number of searches (though not concurrently), and that once
+ * its workspace has grown to fit the largest search, later searches allocate little besides the
+ * solution itself.
+ *
  * @see ShortestPathFinder for more method documentation
  */
 public class AStarPathFinder<VERTEX> extends ShortestPathFinder<VERTEX> {
-    private AStarGraph<VERTEX> graph;
-    private Map<VERTEX, Double> distances;
-    private Map<VERTEX, VERTEX> previousVertex;
+    private final AStarGraph<VERTEX> graph;
+    private final SearchWorkspace<VERTEX> workspace;
     private int totalNumExplored;
 
     /**
@@ -24,25 +27,30 @@ public class AStarPathFinder<VERTEX> extends ShortestPathFinder<VERTEX> {
      */
     public AStarPathFinder(AStarGraph<VERTEX> graph) {
         this.graph = graph;
-        this.distances = new HashMap<>();
-        this.previousVertex = new HashMap<>();
+        this.workspace = new SearchWorkspace<>();
         this.totalNumExplored = 0;
     }
 
     @Override
     public ShortestPathResult<VERTEX> findShortestPath(VERTEX start, VERTEX end, Duration timeout) {
         Timer timer = new Timer(timeout);
+        workspace.reset();
+        this.totalNumExplored = 0;
 
-        boolean isFound = aStarSearch(start, end, timer);
-        if (isFound) {
-            List<VERTEX> solution = new LinkedList<>();
-            VERTEX curr = end;
-            while (!curr.equals(start)) {
-                solution.add(0, curr);
-                curr = previousVertex.get(curr);
+        State<VERTEX> goal = aStarSearch(start, end, timer);
+        if (goal != null) {
+            List<VERTEX> solution = new ArrayList<>();
+            List<WeightedEdge<VERTEX>> solutionEdges = new ArrayList<>();
+            State<VERTEX> curr = goal;
+            while (!curr.vertex.equals(start)) {
+                solution.add(curr.vertex);
+                solutionEdges.add(curr.previousEdge);
+                curr = curr.previous;
             }
-            solution.add(0, curr);
-            return new ShortestPathResult.Solved<>(solution, distances.get(end),
+            solution.add(curr.vertex);
+            Collections.reverse(solution);
+            Collections.reverse(solutionEdges);
+            return new ShortestPathResult.Solved<>(solution, solutionEdges, goal.distance,
                                                    totalNumExplored, timer.elapsedDuration());
         } else if (timer.isTimeUp()) {
             return new ShortestPathResult.Timeout<>(totalNumExplored, timer.elapsedDuration());
@@ -51,37 +59,35 @@ public class AStarPathFinder<VERTEX> extends ShortestPathFinder<VERTEX> {
         }
     }
 
-    private boolean aStarSearch(VERTEX start, VERTEX goal, Timer timer) {
-        ExtrinsicMinPQ<VERTEX> pq = new ArrayHeapMinPQ<>();
-        pq.add(start, 0.0 + graph.estimatedDistanceToGoal(start, goal));
-        distances.put(start, 0.0);
+    /** Returns the goal's state if a path to it was found, or null otherwise. */
+    private State<VERTEX> aStarSearch(VERTEX start, VERTEX goal, Timer timer) {
+        State<VERTEX> startState = workspace.reach(start);
+        startState.distance = 0.0;
+        workspace.addOrChangePriority(startState, 0.0 + graph.estimatedDistanceToGoal(start, goal));
 
-        while (!pq.isEmpty()) {
-            VERTEX curr = pq.removeMin();
+        while (!workspace.isOpenSetEmpty()) {
+            State<VERTEX> curr = workspace.removeMin();
             totalNumExplored++;
-            for (WeightedEdge<VERTEX> edge: graph.neighbors(curr)) {
-                VERTEX node = edge.to();
+            for (WeightedEdge<VERTEX> edge: graph.neighbors(curr.vertex)) {
                 if (timer.isTimeUp()) {
-                    return false;
+                    return null;
                 }
 
-                if (distances.containsKey(node) && distances.get(node) < distances.get(curr) + edge.weight()) {
+                State<VERTEX> node = workspace.reach(edge.to());
+                double distance = curr.distance + edge.weight();
+                if (node.distance <= distance) {
                     continue;
-                } else {
-                    distances.put(node, distances.get(curr) + edge.weight());
-                    previousVertex.put(node, curr);
-                    if (pq.contains(node)) {
-                        pq.changePriority(node, distances.get(node) + graph.estimatedDistanceToGoal(node, goal));
-                    } else {
-                        pq.add(node, distances.get(node) + graph.estimatedDistanceToGoal(node, goal));
-                    }
                 }
+                node.distance = distance;
+                node.previous = curr;
+                node.previousEdge = edge;
+                workspace.addOrChangePriority(node, distance + graph.estimatedDistanceToGoal(node.vertex, goal));
             }
-            if (curr.equals(goal)) {
-                return true; // isFound = true;
+            if (curr.vertex.equals(goal)) {
+                return curr;
             }
         }
-        return false;
+        return null;
     }
 
 
@@ -0,0 +1,194 @@
+package graphpathfinding;
+
+import graphpathfinding.SearchWorkspace.State;
+import timing.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A shortest path finder that runs A* forward from the start and backward from the end at the
+ * same time, always advancing whichever search has the smaller priority at the front of its queue.
+ *
+ * Both searches use the same potential, the average of the forward and reverse heuristics:
+ * p(v) = (h(v, end) - h(start, v)) / 2. The forward search orders vertices by distance + p(v),
+ * and the backward search by distance - p(v), so an edge looks equally long to both searches
+ * and the best path found so far is a shortest path as soon as the two front priorities add up
+ * to at least its weight. This requires the heuristic to be consistent in both arguments, as
+ * straight-line distances are; with other heuristics the result may not be a shortest path.
+ *
+ * Vertices whose heuristic is infinite are skipped, since they cannot be on any path between the
+ * start and the end.
+ *
+ * Like {@link AStarPathFinder}, each direction keeps its state in a {@link SearchWorkspace} that is
+ * reset at the start of every search, so an instance may be used for any number of searches
+ * (though not concurrently).
+ *
+ * @see ShortestPathFinder for more method documentation
+ */
+public class BidirectionalAStarPathFinder<VERTEX> extends ShortestPathFinder<VERTEX> {
+    private final ReversibleAStarGraph<VERTEX> graph;
+    private final Search forward;
+    private final Search backward;
+    private VERTEX start;
+    private VERTEX end;
+    private int totalNumExplored;
+
+    /**
+     * Creates a new BidirectionalAStarPathFinder that works on the provided graph.
+     */
+    public BidirectionalAStarPathFinder(ReversibleAStarGraph<VERTEX> graph) {
+        this.graph = graph;
+        this.forward = new Search(true);
+        this.backward = new Search(false);
+    }
+
+    @Override
+    public ShortestPathResult<VERTEX> findShortestPath(VERTEX start, VERTEX end, Duration timeout) {
+        Timer timer = new Timer(timeout);
+        this.totalNumExplored = 0;
+        this.start = start;
+        this.end = end;
+
+        forward.start(start);
+        backward.start(end);
+        double best = start.equals(end) ? 0.0 : Double.POSITIVE_INFINITY;
+        VERTEX meeting = start.equals(end) ? start : null;
+        while (true) {
+            if (timer.isTimeUp()) {
+                return new ShortestPathResult.Timeout<>(totalNumExplored, timer.elapsedDuration());
+            }
+            // once either queue is empty, every path has already been seen by the other search
+            if (forward.isEmpty() || backward.isEmpty()) {
+                break;
+            }
+            double forwardMin = forward.minPriority();
+            double backwardMin = backward.minPriority();
+            // no path through an unsettled vertex can be shorter than the best one found so far
+            if (forwardMin + backwardMin >= best) {
+                break;
+            }
+            Search search = forwardMin <= backwardMin ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            search.settleNext(other);
+            totalNumExplored++;
+            if (search.bestMeeting != null && search.bestWeight < best) {
+                best = search.bestWeight;
+                meeting = search.bestMeeting;
+            }
+        }
+        if (meeting == null) {
+            return new ShortestPathResult.Unsolvable<>(totalNumExplored, timer.elapsedDuration());
+        }
+
+        List<VERTEX> solution = new ArrayList<>();
+        List<WeightedEdge<VERTEX>> solutionEdges = new ArrayList<>();
+        for (State<VERTEX> curr = forward.workspace.get(meeting); curr != null; curr = curr.previous) {
+            solution.add(curr.vertex);
+            if (curr.previousEdge != null) {
+                solutionEdges.add(curr.previousEdge);
+            }
+        }
+        Collections.reverse(solution);
+        Collections.reverse(solutionEdges);
+        for (State<VERTEX> curr = backward.workspace.get(meeting); curr.previous != null; curr = curr.previous) {
+            solution.add(curr.previous.vertex);
+            // the backward search followed this edge against its direction
+            WeightedEdge<VERTEX> reversed = curr.previousEdge;
+            solutionEdges.add(new WeightedEdge<>(reversed.to(), reversed.from(), reversed.weight(), reversed.name()));
+        }
+        return new ShortestPathResult.Solved<>(solution, solutionEdges, best,
+                                               totalNumExplored, timer.elapsedDuration());
+    }
+
+    @Override
+    protected AStarGraph<VERTEX> graph() {
+        return this.graph;
+    }
+
+    /** Returns the forward search's potential for v, which is the negation of the backward one's. */
+    private double potential(VERTEX v) {
+        return (graph.estimatedDistanceToGoal(v, end) - graph.estimatedDistanceToGoal(start, v)) / 2;
+    }
+
+    /**
+     * One direction of the search. The backward search follows the reversed graph's edges, so its
+     * previous states lead toward the end instead of toward the start.
+     */
+    private class Search {
+        private final boolean isForward;
+        private final SearchWorkspace<VERTEX> workspace;
+        /** The lightest path through both searches seen while relaxing this search's edges. */
+        private double bestWeight;
+        private VERTEX bestMeeting;
+
+        Search(boolean isForward) {
+            this.isForward = isForward;
+            this.workspace = new SearchWorkspace<>();
+        }
+
+        void start(VERTEX v) {
+            workspace.reset();
+            bestWeight = Double.POSITIVE_INFINITY;
+            bestMeeting = null;
+            double potential = potential(v);
+            if (Double.isFinite(potential)) {
+                State<VERTEX> state = workspace.reach(v);
+                state.distance = 0.0;
+                workspace.addOrChangePriority(state, potential);
+            }
+        }
+
+        boolean isEmpty() {
+            return workspace.isOpenSetEmpty();
+        }
+
+        double minPriority() {
+            return workspace.peekMin().priority();
+        }
+
+        /**
+         * Removes the vertex with the smallest priority and relaxes its edges. Any lighter path
+         * through a vertex the other search has reached is recorded in bestWeight.
+         */
+        void settleNext(Search other) {
+            State<VERTEX> curr = workspace.removeMin();
+            Collection<WeightedEdge<VERTEX>> edges = isForward
+                ? graph.neighbors(curr.vertex)
+                : graph.reverseNeighbors(curr.vertex);
+            for (WeightedEdge<VERTEX> edge : edges) {
+                VERTEX next = edge.to();
+                double nextDistance = curr.distance + edge.weight();
+                State<VERTEX> nextState = workspace.get(next);
+                if (nextState != null && nextState.distance <= nextDistance) {
+                    continue;
+                }
+                double potential = potential(next);
+                if (!Double.isFinite(potential)) {
+                    continue;
+                }
+                if (nextState == null) {
+                    nextState = workspace.reach(next);
+                }
+                nextState.distance = nextDistance;
+                nextState.previous = curr;
+                nextState.previousEdge = edge;
+                workspace.addOrChangePriority(nextState, nextDistance + potential);
+                State<VERTEX> otherState = other.workspace.get(next);
+                if (otherState != null && nextDistance + otherState.distance < bestWeight) {
+                    bestWeight = nextDistance + otherState.distance;
+                    bestMeeting = next;
+                }
+            }
+        }
+
+        /** Returns this search's potential for v. */
+        private double potential(VERTEX v) {
+            double potential = BidirectionalAStarPathFinder.this.potential(v);
+            return isForward ? potential : -potential;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package graphpathfinding;
+
+import priorityqueues.IndexedIntMinPQ;
+
+import java.util.Arrays;
+
+/**
+ * A contraction hierarchy over an {@link IndexedAStarGraph}, which lets
+ * {@link ContractionHierarchyPathFinder} answer shortest path queries while exploring only a tiny
+ * part of the graph.
+ *
+ * Building the hierarchy contracts the vertices one at a time, from least to most important. When
+ * a vertex v is contracted, every shortest path u -> v -> w between two uncontracted neighbors is
+ * replaced by a shortcut edge u -> w with the same weight, unless a local "witness" search finds a
+ * path from u to w that avoids v and is no longer. A vertex's rank is the order in which it was
+ * contracted. Every shortest path in the original graph then has a counterpart that first climbs
+ * to higher and higher ranked vertices and then descends, so a query only needs to search upward
+ * from both ends. Each shortcut remembers the two edges it replaced, so paths can be unpacked back
+ * into vertices of the original graph.
+ *
+ * Vertices are ordered by a lazily-updated priority: the number of shortcuts contracting the vertex
+ * would add, minus the number of edges it would remove, plus the number of edges it had to vertices
+ * that were already contracted (which spreads contraction evenly across the graph).
+ *
+ * A hierarchy is never modified after it is built, so it may be shared by any number of path finders
+ * on different threads. Building one takes a few seconds for a city-sized graph.
+ */
+public class ContractionHierarchy<VERTEX> {
+    static final int NO_EDGE = -1;
+    /** Witness searches give up after settling this many vertices, which may add extra shortcuts. */
+    private static final int WITNESS_SETTLED_LIMIT = 500;
+
+    private final IndexedAStarGraph<VERTEX> graph;
+
+    /** The rank of each vertex, which is the order in which it was contracted. */
+    final int[] rank;
+    /** Every edge in the hierarchy, both original and shortcut, stored as parallel arrays. */
+    final int[] edgeFrom;
+    final int[] edgeTo;
+    final double[] edgeWeight;
+    /**
+     * The two edges a shortcut replaced. For edges of the original graph, edgeFirst is NO_EDGE and
+     * edgeSecond is the edge's position in the graph, so paths can be unpacked into the graph's edges.
+     */
+    final int[] edgeFirst;
+    final int[] edgeSecond;
+    /** The edges from each vertex to higher ranked vertices, laid out like a CSR graph. */
+    final int[] upOffsets;
+    final int[] upEdges;
+    /** The edges to each vertex from higher ranked vertices, for searching backward from the end. */
+    final int[] downOffsets;
+    final int[] downEdges;
+
+    private ContractionHierarchy(IndexedAStarGraph<VERTEX> graph, int[] rank,
+                                 int[] edgeFrom, int[] edgeTo, double[] edgeWeight,
+                                 int[] edgeFirst, int[] edgeSecond) {
+        this.graph = graph;
+        this.rank = rank;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.edgeFirst = edgeFirst;
+        this.edgeSecond = edgeSecond;
+
+        int n = rank.length;
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (isUpward(e)) {
+                upOffsets[edgeFrom[e] + 1]++;
+            } else {
+                downOffsets[edgeTo[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        this.upEdges = new int[upOffsets[n]];
+        this.downEdges = new int[downOffsets[n]];
+        int[] upNext = Arrays.copyOf(upOffsets, n);
+        int[] downNext = Arrays.copyOf(downOffsets, n);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (isUpward(e)) {
+                upEdges[upNext[edgeFrom[e]]++] = e;
+            } else {
+                downEdges[downNext[edgeTo[e]]++] = e;
+            }
+        }
+    }
+
+    private boolean isUpward(int edge) {
+        return rank[edgeTo[edge]] > rank[edgeFrom[edge]];
+    }
+
+    /** Contracts every vertex of the given graph, which must not be modified afterwards. */
+    public static <VERTEX> ContractionHierarchy<VERTEX> build(IndexedAStarGraph<VERTEX> graph) {
+        return new Contractor<>(graph).contractAll();
+    }
+
+    /** Returns the graph this hierarchy was built from. */
+    public IndexedAStarGraph<VERTEX> graph() {
+        return graph;
+    }
+
+    /** Returns the number of shortcut edges added while building this hierarchy. */
+    public int numShortcuts() {
+        int shortcuts = 0;
+        for (int e = 0; e < edgeFirst.length; e++) {
+            if (edgeFirst[e] != NO_EDGE) {
+                shortcuts++;
+            }
+        }
+        return shortcuts;
+    }
+
+    /** A growable list of ints, for the adjacency lists of the graph being contracted. */
+    private static class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            size++;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[size - 1];
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The state used while building a hierarchy. The adjacency lists only ever hold edges between
+     * vertices that haven't been contracted yet.
+     */
+    private static class Contractor<VERTEX> {
+        private final IndexedAStarGraph<VERTEX> graph;
+        private final int n;
+        private final IntList[] outEdges;
+        private final IntList[] inEdges;
+        private final int[] contractedNeighbors;
+        private final int[] rank;
+
+        private int numEdges;
+        private int[] edgeFrom = new int[16];
+        private int[] edgeTo = new int[16];
+        private double[] edgeWeight = new double[16];
+        private int[] edgeFirst = new int[16];
+        private int[] edgeSecond = new int[16];
+
+        private final IndexedSearchState witness;
+
+        Contractor(IndexedAStarGraph<VERTEX> graph) {
+            this.graph = graph;
+            this.n = graph.numVertices();
+            this.outEdges = new IntList[n];
+            this.inEdges = new IntList[n];
+            for (int v = 0; v < n; v++) {
+                outEdges[v] = new IntList();
+                inEdges[v] = new IntList();
+            }
+            this.contractedNeighbors = new int[n];
+            this.rank = new int[n];
+            this.witness = new IndexedSearchState(n);
+
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    int w = graph.edgeTarget(e);
+                    if (w != v) {
+                        addOrImproveEdge(v, w, graph.edgeWeight(e), NO_EDGE, e);
+                    }
+                }
+            }
+        }
+
+        ContractionHierarchy<VERTEX> contractAll() {
+            IndexedIntMinPQ order = new IndexedIntMinPQ(4, n);
+            for (int v = 0; v < n; v++) {
+                order.add(v, priority(v));
+            }
+            int nextRank = 0;
+            while (!order.isEmpty()) {
+                int v = order.removeMin();
+                double priority = priority(v);
+                if (!order.isEmpty() && priority > order.peekMinPriority()) {
+                    // the priority was out of date, so v might not be the best vertex anymore
+                    order.add(v, priority);
+                    continue;
+                }
+                contract(v, false);
+                rank[v] = nextRank;
+                nextRank++;
+            }
+            return new ContractionHierarchy<>(graph, rank,
+                Arrays.copyOf(edgeFrom, numEdges), Arrays.copyOf(edgeTo, numEdges),
+                Arrays.copyOf(edgeWeight, numEdges), Arrays.copyOf(edgeFirst, numEdges),
+                Arrays.copyOf(edgeSecond, numEdges));
+        }
+
+        private double priority(int v) {
+            int shortcuts = contract(v, true);
+            int removed = outEdges[v].size + inEdges[v].size;
+            return shortcuts - removed + contractedNeighbors[v];
+        }
+
+        /**
+         * Adds the shortcuts needed to contract v and removes v from the graph, or only counts the
+         * shortcuts if simulate is true.
+         * @return the number of shortcuts needed
+         */
+        private int contract(int v, boolean simulate) {
+            IntList in = inEdges[v];
+            IntList out = outEdges[v];
+            int shortcuts = 0;
+            for (int i = 0; i < in.size; i++) {
+                int first = in.values[i];
+                int u = edgeFrom[first];
+                double maxDistance = Double.NEGATIVE_INFINITY;
+                for (int j = 0; j < out.size; j++) {
+                    int second = out.values[j];
+                    if (edgeTo[second] != u) {
+                        maxDistance = Math.max(maxDistance, edgeWeight[first] + edgeWeight[second]);
+                    }
+                }
+                if (maxDistance == Double.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                witnessSearch(u, v, maxDistance);
+                for (int j = 0; j < out.size; j++) {
+                    int second = out.values[j];
+                    int w = edgeTo[second];
+                    double distance = edgeWeight[first] + edgeWeight[second];
+                    if (w == u || witness.distanceOrInfinity(w) <= distance) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (!simulate) {
+                        addOrImproveEdge(u, w, distance, first, second);
+                    }
+                }
+            }
+            if (!simulate) {
+                remove(v);
+            }
+            return shortcuts;
+        }
+
+        /** Removes v's edges from its neighbors' adjacency lists. */
+        private void remove(int v) {
+            for (int i = 0; i < inEdges[v].size; i++) {
+                int e = inEdges[v].values[i];
+                outEdges[edgeFrom[e]].remove(e);
+                contractedNeighbors[edgeFrom[e]]++;
+            }
+            for (int i = 0; i < outEdges[v].size; i++) {
+                int e = outEdges[v].values[i];
+                inEdges[edgeTo[e]].remove(e);
+                contractedNeighbors[edgeTo[e]]++;
+            }
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from source without passing through the excluded vertex, until
+         * every vertex within maxDistance has been settled or the search hits its settled limit.
+         */
+        private void witnessSearch(int source, int excluded, double maxDistance) {
+            witness.start(source, 0.0);
+            int settled = 0;
+            while (!witness.isOpenSetEmpty() && settled < WITNESS_SETTLED_LIMIT) {
+                if (witness.minPriority() > maxDistance) {
+                    return;
+                }
+                int x = witness.removeMin();
+                settled++;
+                IntList out = outEdges[x];
+                for (int i = 0; i < out.size; i++) {
+                    int e = out.values[i];
+                    int y = edgeTo[e];
+                    if (y == excluded) {
+                        continue;
+                    }
+                    double distance = witness.distance(x) + edgeWeight[e];
+                    if (witness.relax(x, e, y, distance)) {
+                        witness.open(y, distance);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds an edge from u to w, unless there already is one that is no heavier. If there is a
+         * heavier one, it is replaced instead, since only the lightest edge can be on a shortest path.
+         */
+        private void addOrImproveEdge(int u, int w, double weight, int first, int second) {
+            IntList out = outEdges[u];
+            for (int i = 0; i < out.size; i++) {
+                int e = out.values[i];
+                if (edgeTo[e] == w) {
+                    if (weight < edgeWeight[e]) {
+                        edgeWeight[e] = weight;
+                        edgeFirst[e] = first;
+                        edgeSecond[e] = second;
+                    }
+                    return;
+                }
+            }
+            if (numEdges == edgeFrom.length) {
+                int capacity = numEdges * 2;
+                edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+                edgeTo = Arrays.copyOf(edgeTo, capacity);
+                edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+                edgeFirst = Arrays.copyOf(edgeFirst, capacity);
+                edgeSecond = Arrays.copyOf(edgeSecond, capacity);
+            }
+            int e = numEdges;
+            numEdges++;
+            edgeFrom[e] = u;
+            edgeTo[e] = w;
+            edgeWeight[e] = weight;
+            edgeFirst[e] = first;
+            edgeSecond[e] = second;
+            out.add(e);
+            inEdges[w].add(e);
+        }
+    }
+}
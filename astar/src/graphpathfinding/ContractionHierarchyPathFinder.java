@@ -0,0 +1,174 @@
+package graphpathfinding;
+
+import timing.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static graphpathfinding.ContractionHierarchy.NO_EDGE;
+
+/**
+ * A shortest path finder that answers queries with a {@link ContractionHierarchy}, by running
+ * Dijkstra's algorithm upward from the start and (backward) upward from the end until the two
+ * searches can no longer improve on the best meeting point. Shortcuts on the resulting path are
+ * then unpacked into the edges they replaced.
+ *
+ * Like {@link IndexedAStarPathFinder}, each direction keeps its search state in an
+ * {@link IndexedSearchState} that is allocated once, so an instance may be used for any number of searches (though
+ * not concurrently). The hierarchy itself may be shared by many path finders.
+ *
+ * @see ShortestPathFinder for more method documentation
+ */
+public class ContractionHierarchyPathFinder<VERTEX> extends ShortestPathFinder<VERTEX> {
+    private static final int NO_VERTEX = -1;
+
+    private final ContractionHierarchy<VERTEX> hierarchy;
+    private final Search forward;
+    private final Search backward;
+    private int totalNumExplored;
+
+    /** Creates a new path finder that answers queries with the given hierarchy. */
+    public ContractionHierarchyPathFinder(ContractionHierarchy<VERTEX> hierarchy) {
+        this.hierarchy = hierarchy;
+        int n = hierarchy.rank.length;
+        this.forward = new Search(n, hierarchy.upOffsets, hierarchy.upEdges, hierarchy.edgeTo);
+        this.backward = new Search(n, hierarchy.downOffsets, hierarchy.downEdges, hierarchy.edgeFrom);
+    }
+
+    @Override
+    public ShortestPathResult<VERTEX> findShortestPath(VERTEX start, VERTEX end, Duration timeout) {
+        Timer timer = new Timer(timeout);
+        this.totalNumExplored = 0;
+
+        IndexedAStarGraph<VERTEX> graph = hierarchy.graph();
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex == NO_VERTEX || endIndex == NO_VERTEX) {
+            return new ShortestPathResult.Unsolvable<>(totalNumExplored, timer.elapsedDuration());
+        }
+
+        forward.start(startIndex);
+        backward.start(endIndex);
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = NO_VERTEX;
+        while (true) {
+            if (timer.isTimeUp()) {
+                return new ShortestPathResult.Timeout<>(totalNumExplored, timer.elapsedDuration());
+            }
+            double forwardMin = forward.minDistance();
+            double backwardMin = backward.minDistance();
+            // neither search can find a shorter path through a vertex it hasn't settled yet
+            if (Math.min(forwardMin, backwardMin) >= best) {
+                break;
+            }
+            Search search = forwardMin <= backwardMin ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            int v = search.settleNext();
+            totalNumExplored++;
+            if (other.isReached(v) && search.distance(v) + other.distance(v) < best) {
+                best = search.distance(v) + other.distance(v);
+                meeting = v;
+            }
+        }
+        if (meeting == NO_VERTEX) {
+            return new ShortestPathResult.Unsolvable<>(totalNumExplored, timer.elapsedDuration());
+        }
+        List<VERTEX> solution = new ArrayList<>();
+        List<WeightedEdge<VERTEX>> solutionEdges = new ArrayList<>();
+        unpackPath(startIndex, meeting, solution, solutionEdges);
+        return new ShortestPathResult.Solved<>(solution, solutionEdges, best,
+                                               totalNumExplored, timer.elapsedDuration());
+    }
+
+    /** Adds the vertices and graph edges on the path through meeting found by the two searches. */
+    private void unpackPath(int start, int meeting, List<VERTEX> solution, List<WeightedEdge<VERTEX>> solutionEdges) {
+        List<Integer> edges = new ArrayList<>();
+        for (int v = meeting; forward.state.previousEdge(v) != NO_EDGE; v = forward.state.previousVertex(v)) {
+            edges.add(forward.state.previousEdge(v));
+        }
+        Collections.reverse(edges);
+        for (int v = meeting; backward.state.previousEdge(v) != NO_EDGE; v = backward.state.previousVertex(v)) {
+            edges.add(backward.state.previousEdge(v));
+        }
+
+        IndexedAStarGraph<VERTEX> graph = hierarchy.graph();
+        solution.add(graph.vertex(start));
+        int[] stack = new int[16];
+        for (int edge : edges) {
+            int size = 0;
+            stack[size++] = edge;
+            while (size > 0) {
+                int e = stack[--size];
+                if (hierarchy.edgeFirst[e] == NO_EDGE) {
+                    solution.add(graph.vertex(hierarchy.edgeTo[e]));
+                    // an edge of the original graph keeps its position in the graph in edgeSecond
+                    solutionEdges.add(graph.edge(hierarchy.edgeFrom[e], hierarchy.edgeSecond[e]));
+                } else {
+                    if (size + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    // push the second half first, so that the first half is unpacked first
+                    stack[size++] = hierarchy.edgeSecond[e];
+                    stack[size++] = hierarchy.edgeFirst[e];
+                }
+            }
+        }
+    }
+
+    /**
+     * One direction of the search, which follows the given CSR edges to the vertices given by
+     * edgeEnds: edge targets when searching forward, and edge sources when searching backward.
+     */
+    private class Search {
+        final int[] offsets;
+        final int[] edges;
+        final int[] edgeEnds;
+        final IndexedSearchState state;
+
+        Search(int n, int[] offsets, int[] edges, int[] edgeEnds) {
+            this.offsets = offsets;
+            this.edges = edges;
+            this.edgeEnds = edgeEnds;
+            this.state = new IndexedSearchState(n);
+        }
+
+        void start(int v) {
+            state.start(v, 0.0);
+        }
+
+        double minDistance() {
+            return state.minPriority();
+        }
+
+        /** Removes the closest unsettled vertex, relaxes its edges, and returns it. */
+        int settleNext() {
+            int v = state.removeMin();
+            double distance = state.distance(v);
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int e = edges[i];
+                int next = edgeEnds[e];
+                double nextDistance = distance + hierarchy.edgeWeight[e];
+                if (state.relax(v, e, next, nextDistance)) {
+                    state.open(next, nextDistance);
+                }
+            }
+            return v;
+        }
+
+        boolean isReached(int v) {
+            return state.isReached(v);
+        }
+
+        double distance(int v) {
+            return state.distance(v);
+        }
+    }
+
+    @Override
+    protected AStarGraph<VERTEX> graph() {
+        return hierarchy.graph();
+    }
+}
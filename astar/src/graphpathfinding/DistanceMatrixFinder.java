@@ -0,0 +1,128 @@
+package graphpathfinding;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes tables of shortest path distances from many sources to many targets in an
+ * {@link IndexedAStarGraph}, by running one Dijkstra search per source instead of one search per
+ * pair. Each search stops as soon as it has settled every target, so a table for nearby targets
+ * only explores the part of the graph around them.
+ *
+ * The searches for different sources are independent, so they run in parallel on a fork-join
+ * pool. Each pool thread keeps its own {@link IndexedSearchState}, which is allocated once and
+ * reused for every search on that thread, so a finder may be shared by any number of threads.
+ */
+public class DistanceMatrixFinder<VERTEX> {
+    private static final int NO_VERTEX = -1;
+
+    private final IndexedAStarGraph<VERTEX> graph;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<IndexedSearchState> states;
+
+    /** Creates a finder that runs its searches on the common fork-join pool. */
+    public DistanceMatrixFinder(IndexedAStarGraph<VERTEX> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /** Creates a finder that runs its searches on the given pool. */
+    public DistanceMatrixFinder(IndexedAStarGraph<VERTEX> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.states = ThreadLocal.withInitial(() -> new IndexedSearchState(graph.numVertices()));
+    }
+
+    /**
+     * Returns a table where entry [i][j] is the shortest path distance from the ith source to the
+     * jth target, or infinity if there is no path or either vertex is not in the graph.
+     */
+    public double[][] distances(List<VERTEX> sources, List<VERTEX> targets) {
+        int[] sourceIndices = indicesOf(sources);
+        int[] targetIndices = indicesOf(targets);
+        BitSet targetSet = new BitSet(graph.numVertices());
+        for (int t : targetIndices) {
+            if (t != NO_VERTEX) {
+                targetSet.set(t);
+            }
+        }
+        double[][] table = new double[sourceIndices.length][];
+        pool.invoke(new Rows(sourceIndices, targetIndices, targetSet, table, 0, sourceIndices.length));
+        return table;
+    }
+
+    private int[] indicesOf(List<VERTEX> vertices) {
+        int[] indices = new int[vertices.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = graph.indexOf(vertices.get(i));
+        }
+        return indices;
+    }
+
+    /** Fills in the rows of the table for sources lo (inclusive) through hi (exclusive). */
+    private class Rows extends RecursiveAction {
+        private final int[] sources;
+        private final int[] targets;
+        private final BitSet targetSet;
+        private final double[][] table;
+        private final int lo;
+        private final int hi;
+
+        Rows(int[] sources, int[] targets, BitSet targetSet, double[][] table, int lo, int hi) {
+            this.sources = sources;
+            this.targets = targets;
+            this.targetSet = targetSet;
+            this.table = table;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                // each row is a whole Dijkstra search, so it's worth splitting down to single rows
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Rows(sources, targets, targetSet, table, lo, mid),
+                          new Rows(sources, targets, targetSet, table, mid, hi));
+                return;
+            }
+            for (int i = lo; i < hi; i++) {
+                table[i] = row(states.get(), sources[i], targets, targetSet);
+            }
+        }
+    }
+
+    /** Returns the distances from source to each of the targets, using the given thread's state. */
+    private double[] row(IndexedSearchState state, int source, int[] targets, BitSet targetSet) {
+        double[] row = new double[targets.length];
+        Arrays.fill(row, Double.POSITIVE_INFINITY);
+        if (source == NO_VERTEX) {
+            return row;
+        }
+        state.start(source, 0.0);
+        int remaining = targetSet.cardinality();
+        while (!state.isOpenSetEmpty() && remaining > 0) {
+            int curr = state.removeMin();
+            if (targetSet.get(curr)) {
+                remaining--;
+            }
+            double currDistance = state.distance(curr);
+            for (int edge = graph.edgeStart(curr); edge < graph.edgeEnd(curr); edge++) {
+                int next = graph.edgeTarget(edge);
+                double distance = currDistance + graph.edgeWeight(edge);
+                if (state.relax(curr, edge, next, distance)) {
+                    state.open(next, distance);
+                }
+            }
+        }
+        // every reached target has been settled, so its distance is final
+        for (int j = 0; j < targets.length; j++) {
+            if (targets[j] != NO_VERTEX) {
+                row[j] = state.distanceOrInfinity(targets[j]);
+            }
+        }
+        return row;
+    }
+}
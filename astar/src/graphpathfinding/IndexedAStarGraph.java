@@ -0,0 +1,48 @@
+package graphpathfinding;
+
+/**
+ * An {@link AStarGraph} whose vertices are numbered densely from 0 to numVertices() - 1 and whose
+ * outgoing edges can be read by position, so that shortest path finders can keep their per-vertex
+ * state in primitive arrays instead of maps.
+ *
+ * The outgoing edges of vertex v are the edges at positions edgeStart(v) (inclusive) through
+ * edgeEnd(v) (exclusive).
+ */
+public interface IndexedAStarGraph<VERTEX> extends AStarGraph<VERTEX> {
+    /** Returns the number of vertices in this graph. */
+    int numVertices();
+
+    /** Returns the index of the given vertex, or -1 if it is not in this graph. */
+    int indexOf(VERTEX v);
+
+    /** Returns the vertex with the given index. */
+    VERTEX vertex(int index);
+
+    /** Returns the position of the first outgoing edge of the given vertex. */
+    int edgeStart(int index);
+
+    /** Returns the position after the last outgoing edge of the given vertex. */
+    int edgeEnd(int index);
+
+    /** Returns the index of the vertex the given edge leads to. */
+    int edgeTarget(int edge);
+
+    /** Returns the weight of the given edge. */
+    double edgeWeight(int edge);
+
+    /**
+     * Returns the given edge, which is one of the outgoing edges of the vertex with index from, as
+     * a WeightedEdge.
+     */
+    default WeightedEdge<VERTEX> edge(int from, int edge) {
+        return new WeightedEdge<>(vertex(from), vertex(edgeTarget(edge)), edgeWeight(edge));
+    }
+
+    /**
+     * Returns an estimated distance from vertex v to the goal vertex according to the A* heuristic
+     * function for this graph, where both vertices are given by index.
+     */
+    default double estimatedDistanceToGoal(int v, int goal) {
+        return estimatedDistanceToGoal(vertex(v), vertex(goal));
+    }
+}
@@ -0,0 +1,97 @@
+package graphpathfinding;
+
+import priorityqueues.IndexedIntMinPQ;
+import timing.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A version of {@link AStarPathFinder} for {@link IndexedAStarGraph}s that stores distances and
+ * back-pointers in arrays indexed by vertex instead of in hash maps.
+ *
+ * The arrays, along with the primitive {@link IndexedIntMinPQ} used as the open set, are kept in an
+ * {@link IndexedSearchState} that is allocated once, when the path finder is created, and reset
+ * with generation stamps. This means that, unlike most path finders, an instance may be used for
+ * any number of searches (though not concurrently).
+ *
+ * @see ShortestPathFinder for more method documentation
+ */
+public class IndexedAStarPathFinder<VERTEX> extends ShortestPathFinder<VERTEX> {
+    private static final int NO_VERTEX = -1;
+
+    private final IndexedAStarGraph<VERTEX> graph;
+    private final IndexedSearchState state;
+    private int totalNumExplored;
+
+    /**
+     * Creates a new IndexedAStarPathFinder that works on the provided graph.
+     */
+    public IndexedAStarPathFinder(IndexedAStarGraph<VERTEX> graph) {
+        this.graph = graph;
+        this.state = new IndexedSearchState(graph.numVertices());
+    }
+
+    @Override
+    public ShortestPathResult<VERTEX> findShortestPath(VERTEX start, VERTEX end, Duration timeout) {
+        Timer timer = new Timer(timeout);
+        this.totalNumExplored = 0;
+
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex == NO_VERTEX || endIndex == NO_VERTEX) {
+            return new ShortestPathResult.Unsolvable<>(totalNumExplored, timer.elapsedDuration());
+        }
+
+        boolean isFound = aStarSearch(startIndex, endIndex, timer);
+        if (isFound) {
+            List<VERTEX> solution = new ArrayList<>();
+            List<WeightedEdge<VERTEX>> solutionEdges = new ArrayList<>();
+            for (int curr = endIndex; curr != IndexedSearchState.NONE; curr = state.previousVertex(curr)) {
+                solution.add(graph.vertex(curr));
+                if (state.previousEdge(curr) != IndexedSearchState.NONE) {
+                    solutionEdges.add(graph.edge(state.previousVertex(curr), state.previousEdge(curr)));
+                }
+            }
+            Collections.reverse(solution);
+            Collections.reverse(solutionEdges);
+            return new ShortestPathResult.Solved<>(solution, solutionEdges, state.distance(endIndex),
+                                                   totalNumExplored, timer.elapsedDuration());
+        } else if (timer.isTimeUp()) {
+            return new ShortestPathResult.Timeout<>(totalNumExplored, timer.elapsedDuration());
+        } else {
+            return new ShortestPathResult.Unsolvable<>(totalNumExplored, timer.elapsedDuration());
+        }
+    }
+
+    private boolean aStarSearch(int start, int goal, Timer timer) {
+        state.start(start, graph.estimatedDistanceToGoal(start, goal));
+        while (!state.isOpenSetEmpty()) {
+            if (timer.isTimeUp()) {
+                return false;
+            }
+            int curr = state.removeMin();
+            totalNumExplored++;
+            if (curr == goal) {
+                return true;
+            }
+
+            double currDistance = state.distance(curr);
+            for (int edge = graph.edgeStart(curr); edge < graph.edgeEnd(curr); edge++) {
+                int next = graph.edgeTarget(edge);
+                double distance = currDistance + graph.edgeWeight(edge);
+                if (state.relax(curr, edge, next, distance)) {
+                    state.open(next, distance + graph.estimatedDistanceToGoal(next, goal));
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected AStarGraph<VERTEX> graph() {
+        return this.graph;
+    }
+}
@@ -0,0 +1,125 @@
+package graphpathfinding;
+
+import priorityqueues.IndexedIntMinPQ;
+
+import java.util.Arrays;
+
+/**
+ * The per-vertex state of a best-first search over vertices numbered 0 through n - 1 (distances,
+ * back-pointers and the open set), kept in arrays that are allocated once and reused from one
+ * search to the next. This is the array-based counterpart of {@link SearchWorkspace}.
+ *
+ * Instead of clearing the arrays before each search, every search gets a new generation number,
+ * and a vertex only counts as reached if it was stamped with the current generation, so starting
+ * a search takes constant time no matter how much of the graph the last one reached.
+ *
+ * A state may only be used by one search at a time.
+ */
+final class IndexedSearchState {
+    /** The previous vertex or edge of a vertex that has none, such as the source. */
+    static final int NONE = -1;
+
+    private final double[] distances;
+    private final int[] previousVertex;
+    /** The edge from the previous vertex, so the search's edges don't have to be looked up again. */
+    private final int[] previousEdge;
+    /** The generation in which each vertex was last reached. */
+    private final int[] reachedIn;
+    private final IndexedIntMinPQ pq;
+    private int generation;
+
+    /** Creates a state for searches over n vertices. */
+    IndexedSearchState(int n) {
+        this.distances = new double[n];
+        this.previousVertex = new int[n];
+        this.previousEdge = new int[n];
+        this.reachedIn = new int[n];
+        this.pq = new IndexedIntMinPQ(4, n);
+    }
+
+    /**
+     * Forgets the last search and starts a new one from the given source, which is reached at
+     * distance 0 and opened with the given priority.
+     */
+    void start(int source, double priority) {
+        nextGeneration();
+        pq.clear();
+        relax(NONE, NONE, source, 0.0);
+        pq.add(source, priority);
+    }
+
+    /** Starts a new generation, so that every vertex counts as unreached. */
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // only happens after billions of searches, but stale stamps must never match
+            Arrays.fill(reachedIn, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Records that v can be reached at the given distance via the given edge from the previous
+     * vertex, unless the search has already reached v at least as cheaply.
+     * @return true if the distance was an improvement, so v should be opened
+     */
+    boolean relax(int previous, int edge, int v, double distance) {
+        if (isReached(v) && distances[v] <= distance) {
+            return false;
+        }
+        reachedIn[v] = generation;
+        distances[v] = distance;
+        previousVertex[v] = previous;
+        previousEdge[v] = edge;
+        return true;
+    }
+
+    /** Adds v to the open set with the given priority, or changes its priority if it is already open. */
+    void open(int v, double priority) {
+        if (pq.contains(v)) {
+            pq.changePriority(v, priority);
+        } else {
+            pq.add(v, priority);
+        }
+    }
+
+    /** Returns true if the open set is empty. */
+    boolean isOpenSetEmpty() {
+        return pq.isEmpty();
+    }
+
+    /** Returns the smallest priority in the open set, or infinity if it is empty. */
+    double minPriority() {
+        return pq.isEmpty() ? Double.POSITIVE_INFINITY : pq.peekMinPriority();
+    }
+
+    /** Removes and returns the open vertex with the smallest priority. */
+    int removeMin() {
+        return pq.removeMin();
+    }
+
+    /** Returns true if the current search has reached v. */
+    boolean isReached(int v) {
+        return reachedIn[v] == generation;
+    }
+
+    /** Returns the distance at which the current search reached v, which must have been reached. */
+    double distance(int v) {
+        return distances[v];
+    }
+
+    /** Returns the distance at which the current search reached v, or infinity if it hasn't. */
+    double distanceOrInfinity(int v) {
+        return isReached(v) ? distances[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /** Returns the vertex the current search reached v from, or NONE. */
+    int previousVertex(int v) {
+        return previousVertex[v];
+    }
+
+    /** Returns the edge the current search reached v through, or NONE. */
+    int previousEdge(int v) {
+        return previousEdge[v];
+    }
+}
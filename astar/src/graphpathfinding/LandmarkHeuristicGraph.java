@@ -0,0 +1,274 @@
+package graphpathfinding;
+
+import priorityqueues.IndexedIntMinPQ;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An {@link IndexedAStarGraph} decorator that strengthens another graph's A* heuristic with
+ * landmarks and the triangle inequality (the "ALT" technique).
+ *
+ * When the decorator is created, it picks k landmark vertices and precomputes the shortest path
+ * distance from every vertex to each landmark and from each landmark to every vertex. For any
+ * landmark L, the triangle inequality gives two lower bounds on the distance from v to the goal t:
+ * d(v, L) - d(t, L) and d(L, t) - d(L, v). The heuristic is the largest of these bounds and of the
+ * wrapped graph's own estimate, so it is admissible and consistent whenever the wrapped graph's
+ * estimate is, and it is usually much closer to the true distance than a straight-line estimate.
+ *
+ * Landmarks are picked by farthest-point selection: each new landmark is the vertex farthest from
+ * the landmarks picked so far, which spreads them out around the edges of the graph where they
+ * give the best bounds. Picking k landmarks takes 2k + 1 runs of Dijkstra's algorithm over the
+ * whole graph.
+ *
+ * Everything besides the heuristic is delegated to the wrapped graph, which must not be modified
+ * afterwards. The decorator uses 16 bytes per vertex per landmark.
+ */
+public class LandmarkHeuristicGraph<VERTEX> implements IndexedAStarGraph<VERTEX> {
+    private final IndexedAStarGraph<VERTEX> graph;
+    private final int[] landmarks;
+    /** fromLandmark[i][v] is the distance from landmark i to v, or infinity if v is unreachable. */
+    private final double[][] fromLandmark;
+    /** toLandmark[i][v] is the distance from v to landmark i, or infinity if it is unreachable. */
+    private final double[][] toLandmark;
+
+    /**
+     * Wraps the given graph, picking the given number of landmarks by farthest-point selection.
+     * @throws IllegalArgumentException if numLandmarks is negative
+     */
+    public LandmarkHeuristicGraph(IndexedAStarGraph<VERTEX> graph, int numLandmarks) {
+        if (numLandmarks < 0) {
+            throw new IllegalArgumentException("numLandmarks must not be negative: " + numLandmarks);
+        }
+        this.graph = graph;
+        int n = graph.numVertices();
+        numLandmarks = Math.min(numLandmarks, n);
+        this.landmarks = new int[numLandmarks];
+        this.fromLandmark = new double[numLandmarks][];
+        this.toLandmark = new double[numLandmarks][];
+
+        ReverseGraph reverse = new ReverseGraph(graph);
+        // the distance from each vertex to its nearest landmark, in either direction
+        double[] nearest = new double[n];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        int next = n == 0 ? 0 : farthest(dijkstra(graph, maxDegreeVertex(graph)));
+        for (int i = 0; i < numLandmarks; i++) {
+            landmarks[i] = next;
+            fromLandmark[i] = dijkstra(graph, next);
+            toLandmark[i] = dijkstra(reverse, next);
+            for (int v = 0; v < n; v++) {
+                nearest[v] = Math.min(nearest[v], Math.min(fromLandmark[i][v], toLandmark[i][v]));
+            }
+            next = farthest(nearest);
+        }
+    }
+
+    /**
+     * Returns the vertex with the most outgoing edges, which is almost certainly in the largest
+     * connected part of a road network. Landmarks are only picked from the part of the graph
+     * reachable from (or reaching) this vertex, since vertices that are unreachable from the
+     * first landmark, like places with no roads, are often isolated.
+     */
+    private static int maxDegreeVertex(IndexedAStarGraph<?> graph) {
+        int best = 0;
+        for (int v = 1; v < graph.numVertices(); v++) {
+            if (graph.edgeEnd(v) - graph.edgeStart(v) > graph.edgeEnd(best) - graph.edgeStart(best)) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /** Returns the vertex with the largest finite distance. */
+    private static int farthest(double[] distances) {
+        int farthest = 0;
+        double farthestDistance = -1;
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] != Double.POSITIVE_INFINITY && distances[v] > farthestDistance) {
+                farthest = v;
+                farthestDistance = distances[v];
+            }
+        }
+        return farthest;
+    }
+
+    /** Returns the distance from source to every vertex, or infinity for unreachable vertices. */
+    private static double[] dijkstra(IndexedAStarGraph<?> graph, int source) {
+        int n = graph.numVertices();
+        double[] distances = new double[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        IndexedIntMinPQ pq = new IndexedIntMinPQ(4, n);
+        distances[source] = 0.0;
+        pq.add(source, 0.0);
+        while (!pq.isEmpty()) {
+            int v = pq.removeMin();
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                int w = graph.edgeTarget(e);
+                double distance = distances[v] + graph.edgeWeight(e);
+                if (distance < distances[w]) {
+                    distances[w] = distance;
+                    if (pq.contains(w)) {
+                        pq.changePriority(w, distance);
+                    } else {
+                        pq.add(w, distance);
+                    }
+                }
+            }
+        }
+        return distances;
+    }
+
+    /** Returns the indices of the landmarks, in the order they were picked. */
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    @Override
+    public double estimatedDistanceToGoal(int v, int goal) {
+        double estimate = graph.estimatedDistanceToGoal(v, goal);
+        for (int i = 0; i < landmarks.length; i++) {
+            double[] from = fromLandmark[i];
+            double[] to = toLandmark[i];
+            // infinite distances give no bound (and would make NaNs), so skip them
+            if (to[v] != Double.POSITIVE_INFINITY && to[goal] != Double.POSITIVE_INFINITY) {
+                estimate = Math.max(estimate, to[v] - to[goal]);
+            }
+            if (from[goal] != Double.POSITIVE_INFINITY && from[v] != Double.POSITIVE_INFINITY) {
+                estimate = Math.max(estimate, from[goal] - from[v]);
+            }
+        }
+        return estimate;
+    }
+
+    @Override
+    public double estimatedDistanceToGoal(VERTEX s, VERTEX goal) {
+        int v = graph.indexOf(s);
+        int t = graph.indexOf(goal);
+        if (v == -1 || t == -1) {
+            return graph.estimatedDistanceToGoal(s, goal);
+        }
+        return estimatedDistanceToGoal(v, t);
+    }
+
+    @Override
+    public Collection<WeightedEdge<VERTEX>> neighbors(VERTEX v) {
+        return graph.neighbors(v);
+    }
+
+    @Override
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    @Override
+    public int indexOf(VERTEX v) {
+        return graph.indexOf(v);
+    }
+
+    @Override
+    public VERTEX vertex(int index) {
+        return graph.vertex(index);
+    }
+
+    @Override
+    public int edgeStart(int index) {
+        return graph.edgeStart(index);
+    }
+
+    @Override
+    public int edgeEnd(int index) {
+        return graph.edgeEnd(index);
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return graph.edgeTarget(edge);
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return graph.edgeWeight(edge);
+    }
+
+    /** The given graph with every edge reversed, for computing distances to a vertex. */
+    static class ReverseGraph implements IndexedAStarGraph<Integer> {
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+
+        ReverseGraph(IndexedAStarGraph<?> graph) {
+            int n = graph.numVertices();
+            offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    offsets[graph.edgeTarget(e) + 1]++;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            targets = new int[offsets[n]];
+            weights = new double[offsets[n]];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    int w = graph.edgeTarget(e);
+                    targets[next[w]] = v;
+                    weights[next[w]] = graph.edgeWeight(e);
+                    next[w]++;
+                }
+            }
+        }
+
+        @Override
+        public int numVertices() {
+            return offsets.length - 1;
+        }
+
+        @Override
+        public int indexOf(Integer v) {
+            return v;
+        }
+
+        @Override
+        public Integer vertex(int index) {
+            return index;
+        }
+
+        @Override
+        public int edgeStart(int index) {
+            return offsets[index];
+        }
+
+        @Override
+        public int edgeEnd(int index) {
+            return offsets[index + 1];
+        }
+
+        @Override
+        public int edgeTarget(int edge) {
+            return targets[edge];
+        }
+
+        @Override
+        public double edgeWeight(int edge) {
+            return weights[edge];
+        }
+
+        @Override
+        public Collection<WeightedEdge<Integer>> neighbors(Integer v) {
+            List<WeightedEdge<Integer>> edges = new ArrayList<>(offsets[v + 1] - offsets[v]);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                edges.add(new WeightedEdge<>(v, targets[e], weights[e]));
+            }
+            return edges;
+        }
+
+        @Override
+        public double estimatedDistanceToGoal(Integer s, Integer goal) {
+            return 0;
+        }
+    }
+}
@@ -25,7 +25,8 @@ public class LazySolver<VERTEX> extends ShortestPathFinder<VERTEX> {
             if (e.to().equals(end)) {
                 List<VERTEX> solution = List.of(start, end);
                 double solutionWeight = e.weight();
-                return new ShortestPathResult.Solved<>(solution, solutionWeight, 1, timer.elapsedDuration());
+                return new ShortestPathResult.Solved<>(solution, List.of(e), solutionWeight, 1,
+                                                       timer.elapsedDuration());
             }
         }
         if (timer.isTimeUp()) {
@@ -0,0 +1,84 @@
+package graphpathfinding;
+
+/**
+ * Finds every vertex of an {@link IndexedAStarGraph} within a given distance of a source vertex,
+ * using a Dijkstra search that never queues a vertex beyond that distance.
+ *
+ * The search arrays are kept in an {@link IndexedSearchState} that is allocated once, sized to the
+ * graph, so a search allocates nothing and costs time proportional to
+ * the part of the graph it reaches. The results of a search can be read until the next search
+ * starts. An instance may be used for any number of searches, but not concurrently.
+ */
+public class ReachableSetFinder<VERTEX> {
+    private final IndexedAStarGraph<VERTEX> graph;
+    private final IndexedSearchState state;
+    /** The indices of the vertices settled by the last search, in the order they were settled. */
+    private final int[] settled;
+    private int numSettled;
+
+    /**
+     * Creates a new ReachableSetFinder that works on the provided graph.
+     */
+    public ReachableSetFinder(IndexedAStarGraph<VERTEX> graph) {
+        this.graph = graph;
+        int n = graph.numVertices();
+        this.state = new IndexedSearchState(n);
+        this.settled = new int[n];
+    }
+
+    /**
+     * Finds every vertex whose shortest path from source weighs at most maxDistance, and returns
+     * how many there are (0 if source is not in the graph). The vertices can then be read with
+     * {@link #reached(int)} and {@link #reachedDistance(int)}, in order of increasing distance.
+     */
+    public int search(VERTEX source, double maxDistance) {
+        numSettled = 0;
+        int s = graph.indexOf(source);
+        if (s == -1 || !(maxDistance >= 0)) {
+            return 0;
+        }
+        state.start(s, 0.0);
+        while (!state.isOpenSetEmpty()) {
+            int curr = state.removeMin();
+            settled[numSettled] = curr;
+            numSettled++;
+            double currDistance = state.distance(curr);
+            for (int edge = graph.edgeStart(curr); edge < graph.edgeEnd(curr); edge++) {
+                int next = graph.edgeTarget(edge);
+                double distance = currDistance + graph.edgeWeight(edge);
+                if (distance <= maxDistance && state.relax(curr, edge, next, distance)) {
+                    state.open(next, distance);
+                }
+            }
+        }
+        return numSettled;
+    }
+
+    /** Returns the number of vertices the last search reached. */
+    public int numReached() {
+        return numSettled;
+    }
+
+    /**
+     * Returns the ith vertex the last search reached.
+     * @throws IndexOutOfBoundsException if i is not less than numReached()
+     */
+    public VERTEX reached(int i) {
+        return graph.vertex(settled[checkIndex(i)]);
+    }
+
+    /**
+     * Returns the shortest path distance from the last search's source to the ith vertex it reached.
+     * @throws IndexOutOfBoundsException if i is not less than numReached()
+     */
+    public double reachedDistance(int i) {
+        return state.distance(settled[checkIndex(i)]);
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= numSettled) {
+            throw new IndexOutOfBoundsException("index " + i + " out of bounds for " + numSettled + " vertices");
+        }
+        return i;
+    }
+}
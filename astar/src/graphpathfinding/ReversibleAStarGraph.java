@@ -0,0 +1,15 @@
+package graphpathfinding;
+
+import java.util.Collection;
+
+/**
+ * An {@link AStarGraph} that can also list the edges leading into each vertex, so that shortest
+ * path finders can search backward from the goal as well as forward from the start.
+ */
+public interface ReversibleAStarGraph<VERTEX> extends AStarGraph<VERTEX> {
+    /**
+     * Returns the outgoing edges from the given vertex in the reversed graph: for every edge from
+     * u to v with weight w, there is an edge from v to u with weight w.
+     */
+    Collection<WeightedEdge<VERTEX>> reverseNeighbors(VERTEX v);
+}
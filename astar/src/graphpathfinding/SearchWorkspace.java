@@ -0,0 +1,234 @@
+package graphpathfinding;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The per-vertex state of a best-first search over an {@link AStarGraph} (distances, back-pointers
+ * and the open set), kept in structures that are reused from one search to the next.
+ *
+ * Each vertex a search reaches gets a {@link State}, which is both its value in the vertex lookup
+ * table (open addressing with linear probing) and its entry in the open set (a binary heap that
+ * records each state's position, so priorities can be changed without a second lookup). States
+ * are pooled: {@link #reset()} takes every state back and clears only the table slots they used,
+ * so it runs in time proportional to the number of vertices the last search reached, and a search
+ * that reaches no more vertices than an earlier one allocates nothing here.
+ *
+ * A workspace may only be used by one search at a time.
+ */
+final class SearchWorkspace<VERTEX> {
+    private static final double MAX_LOAD = 0.5;
+    private static final int MIN_CAPACITY = 16;
+
+    /** The states in use, by the hash of their vertex. */
+    private State<VERTEX>[] table;
+    /** The states in use (the first numStates) followed by pooled states from earlier searches. */
+    private State<VERTEX>[] states;
+    private int numStates;
+    /** The open set, as a binary min-heap of states ordered by priority. */
+    private State<VERTEX>[] heap;
+    private int heapSize;
+
+    SearchWorkspace() {
+        this.table = newArray(MIN_CAPACITY);
+        this.states = newArray(MIN_CAPACITY);
+        this.heap = newArray(MIN_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <VERTEX> State<VERTEX>[] newArray(int length) {
+        return (State<VERTEX>[]) new State[length];
+    }
+
+    /** Forgets every vertex reached since the last reset, so that the next search starts fresh. */
+    void reset() {
+        for (int i = 0; i < numStates; i++) {
+            State<VERTEX> state = states[i];
+            table[state.slot] = null;
+            // don't keep the last search's vertices alive
+            state.vertex = null;
+            state.previous = null;
+            state.previousEdge = null;
+        }
+        Arrays.fill(heap, 0, heapSize, null);
+        numStates = 0;
+        heapSize = 0;
+    }
+
+    /** Returns the state of the given vertex, or null if it hasn't been reached since the last reset. */
+    State<VERTEX> get(VERTEX v) {
+        int mask = table.length - 1;
+        for (int i = hash(v) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (table[i].vertex.equals(v)) {
+                return table[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the state of the given vertex, first giving it a state with an infinite distance,
+     * no previous state or edge, and no place in the open set if it hasn't been reached since the last reset.
+     */
+    State<VERTEX> reach(VERTEX v) {
+        int mask = table.length - 1;
+        int i = hash(v) & mask;
+        for (; table[i] != null; i = (i + 1) & mask) {
+            if (table[i].vertex.equals(v)) {
+                return table[i];
+            }
+        }
+        if (numStates + 1 > table.length * MAX_LOAD) {
+            grow();
+            return reach(v);
+        }
+
+        if (numStates == states.length) {
+            states = Arrays.copyOf(states, states.length * 2);
+        }
+        State<VERTEX> state = states[numStates];
+        if (state == null) {
+            state = new State<>();
+            states[numStates] = state;
+        }
+        numStates++;
+        state.vertex = v;
+        state.distance = Double.POSITIVE_INFINITY;
+        state.previous = null;
+        state.previousEdge = null;
+        state.heapIndex = State.NOT_OPEN;
+        state.slot = i;
+        table[i] = state;
+        return state;
+    }
+
+    private void grow() {
+        table = newArray(table.length * 2);
+        int mask = table.length - 1;
+        for (int s = 0; s < numStates; s++) {
+            State<VERTEX> state = states[s];
+            int i = hash(state.vertex) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = state;
+            state.slot = i;
+        }
+    }
+
+    private static int hash(Object v) {
+        int h = v.hashCode();
+        // spread the high bits, since only the low bits pick the slot
+        return h ^ (h >>> 16);
+    }
+
+    /** Returns true if the open set is empty. */
+    boolean isOpenSetEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * Returns the open state with the smallest priority.
+     * @throws NoSuchElementException if the open set is empty
+     */
+    State<VERTEX> peekMin() {
+        if (heapSize == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the open state with the smallest priority.
+     * @throws NoSuchElementException if the open set is empty
+     */
+    State<VERTEX> removeMin() {
+        State<VERTEX> min = peekMin();
+        heapSize--;
+        State<VERTEX> last = heap[heapSize];
+        heap[heapSize] = null;
+        min.heapIndex = State.NOT_OPEN;
+        if (heapSize > 0) {
+            place(last, 0);
+            percolateDown(0);
+        }
+        return min;
+    }
+
+    /** Adds the state to the open set with the given priority, or changes its priority if it is already open. */
+    void addOrChangePriority(State<VERTEX> state, double priority) {
+        state.priority = priority;
+        if (state.isOpen()) {
+            percolateUp(state.heapIndex);
+            percolateDown(state.heapIndex);
+            return;
+        }
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        place(state, heapSize);
+        heapSize++;
+        percolateUp(state.heapIndex);
+    }
+
+    private void percolateUp(int index) {
+        State<VERTEX> state = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].priority <= state.priority) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(state, index);
+    }
+
+    private void percolateDown(int index) {
+        State<VERTEX> state = heap[index];
+        while (2 * index + 1 < heapSize) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && heap[child + 1].priority < heap[child].priority) {
+                child++;
+            }
+            if (state.priority <= heap[child].priority) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(state, index);
+    }
+
+    private void place(State<VERTEX> state, int index) {
+        heap[index] = state;
+        state.heapIndex = index;
+    }
+
+    /** The search state of one vertex. Searches read and write the first four fields directly. */
+    static final class State<VERTEX> {
+        private static final int NOT_OPEN = -1;
+
+        VERTEX vertex;
+        double distance;
+        State<VERTEX> previous;
+        /** The edge from the previous state's vertex to this one. */
+        WeightedEdge<VERTEX> previousEdge;
+        /** The priority in the open set, or the last one it had if it is not open. */
+        private double priority;
+        /** The position in the heap, or NOT_OPEN. */
+        private int heapIndex;
+        /** The position in the table. */
+        private int slot;
+
+        /** Returns true if this state is in the open set. */
+        boolean isOpen() {
+            return heapIndex != NOT_OPEN;
+        }
+
+        /** Returns this state's priority in the open set (or the last one it had). */
+        double priority() {
+            return priority;
+        }
+    }
+}
@@ -11,7 +11,8 @@ public abstract class ShortestPathFinder<VERTEX> {
      * or another method), and returns an object with information about that path and some other
      * details about the computation.
      *
-     * Should only be called once. Subsequent calls have undefined behavior.
+     * May be called any number of times, with each search independent of the ones before it, but
+     * not concurrently: path finders reuse their search state between calls.
      *
      * If a path is not found after timeout duration has passed, stops execution and returns a
      * failed TIMEOUT result instead.
@@ -36,6 +36,13 @@ public abstract class ShortestPathResult<VERTEX> {
      */
     public abstract List<VERTEX> solution();
 
+    /**
+     * A list of the edges traversed by the solution, from start to end, so that the ith edge leads
+     * from the ith vertex of the solution to the next one.
+     * Returns an empty list if problem was unsolvable or solving timed out.
+     */
+    public abstract List<WeightedEdge<VERTEX>> solutionEdges();
+
     /**
      * The total weight of the solution, taking into account edge weights.
      * Returns Double.POSITIVE_INFINITY if problem was unsolvable or solving timed out.
@@ -67,11 +74,14 @@ public abstract class ShortestPathResult<VERTEX> {
      */
     public static class Solved<VERTEX> extends ShortestPathResult<VERTEX> {
         private final List<VERTEX> solution;
+        private final List<WeightedEdge<VERTEX>> solutionEdges;
         private final double solutionWeight;
 
-        Solved(List<VERTEX> solution, double solutionWeight, int numStatesExplored, Duration startTime) {
+        Solved(List<VERTEX> solution, List<WeightedEdge<VERTEX>> solutionEdges, double solutionWeight,
+               int numStatesExplored, Duration startTime) {
             super(numStatesExplored, startTime);
             this.solution = solution;
+            this.solutionEdges = solutionEdges;
             this.solutionWeight = solutionWeight;
         }
 
@@ -85,6 +95,11 @@ public abstract class ShortestPathResult<VERTEX> {
             return this.solution;
         }
 
+        @Override
+        public List<WeightedEdge<VERTEX>> solutionEdges() {
+            return this.solutionEdges;
+        }
+
         @Override
         public double solutionWeight() {
             return this.solutionWeight;
@@ -112,6 +127,11 @@ public abstract class ShortestPathResult<VERTEX> {
             return List.of();
         }
 
+        @Override
+        public List<WeightedEdge<VERTEX>> solutionEdges() {
+            return List.of();
+        }
+
         @Override
         public double solutionWeight() {
             return Double.POSITIVE_INFINITY;
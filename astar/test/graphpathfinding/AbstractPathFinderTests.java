@@ -0,0 +1,89 @@
+package graphpathfinding;
+
+import edu.washington.cse373.BaseTest;
+import graphpathfinding.graphs.WeightedDirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Tests shared by the path finders for WeightedDirectedGraphs and for IndexedWeightedDirectedGraphs.
+ * Subclasses choose the kind of graph to build and the path finder to run on it.
+ */
+public abstract class AbstractPathFinderTests<G extends WeightedDirectedGraph> extends BaseTest {
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    /** Returns a graph with the given number of vertices and no edges. */
+    protected abstract G createGraph(int numVertices);
+
+    /** Returns a path finder for the given graph, which was built by createGraph. */
+    protected abstract ShortestPathFinder<Integer> createFinderFor(G graph);
+
+    protected <VERTEX> ShortestPathFinderAssert<VERTEX> assertThat(ShortestPathFinder<VERTEX> actual) {
+        return new ShortestPathFinderAssert<>(actual);
+    }
+
+    /** Returns the graph from the lecture example, where the shortest path from 0 to 6 is 0, 1, 4, 6. */
+    protected G createLectureExample() {
+        G graph = createGraph(7);
+
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 2, 1);
+
+        graph.addEdge(1, 2, 5);
+        graph.addEdge(1, 3, 11);
+        graph.addEdge(1, 4, 3);
+
+        graph.addEdge(2, 5, 15);
+
+        graph.addEdge(3, 4, 2);
+
+        graph.addEdge(4, 2, 1);
+        graph.addEdge(4, 5, 4);
+        graph.addEdge(4, 6, 5);
+
+        graph.addEdge(6, 3, 1);
+        graph.addEdge(6, 5, 1);
+        return graph;
+    }
+
+    @Test
+    void findOn_graphWithZeroWeightCycle_returnsCorrectPath() {
+        G graph = createGraph(5);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 0, 0);
+        graph.addEdge(1, 2, 0);
+        graph.addEdge(2, 1, 0);
+        graph.addEdge(2, 3, 1);
+
+        ShortestPathFinder<Integer> pathFinder = createFinderFor(graph);
+        assertThat(pathFinder).shortestPath(0, 3, ONE_SECOND)
+            .hasSolution(0, 1, 2, 3)
+            .hasWeightCloseTo(1);
+        assertThat(pathFinder).shortestPath(2, 0, ONE_SECOND)
+            .hasSolution(2, 1, 0)
+            .hasWeightCloseTo(0);
+        assertThat(pathFinder).shortestPath(3, 4, ONE_SECOND)
+            .isUnsolvable();
+    }
+
+    /**
+     * Path finders may be reused, so state left over from one search must not leak into the next.
+     */
+    @Test
+    void findRepeatedly_withSameFinder_returnsCorrectPaths() {
+        ShortestPathFinder<Integer> pathFinder = createFinderFor(createLectureExample());
+
+        assertThat(pathFinder).shortestPath(0, 6, ONE_SECOND)
+            .hasSolution(0, 1, 4, 6)
+            .hasWeightCloseTo(10);
+        assertThat(pathFinder).shortestPath(3, 5, ONE_SECOND)
+            .hasSolution(3, 4, 5)
+            .hasWeightCloseTo(6);
+        assertThat(pathFinder).shortestPath(5, 0, ONE_SECOND)
+            .isUnsolvable();
+        assertThat(pathFinder).shortestPath(0, 6, ONE_SECOND)
+            .hasSolution(0, 1, 4, 6)
+            .hasWeightCloseTo(10);
+    }
+}
@@ -0,0 +1,25 @@
+package graphpathfinding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static graphpathfinding.graphs.RandomGraphs.assertSameWeightsAsIndexedAStar;
+
+public class BidirectionalAStarPathFinderTests extends PathFinderTests {
+    @Override
+    protected <VERTEX> ShortestPathFinder<VERTEX> createShortestPathFinder(AStarGraph<VERTEX> graph) {
+        // every test graph also knows its incoming edges
+        return new BidirectionalAStarPathFinder<>((ReversibleAStarGraph<VERTEX>) graph);
+    }
+
+    @Test
+    void findOn_randomGraphs_returnsSameWeightsAsIndexedAStar() {
+        assertSameWeightsAsIndexedAStar(this::createShortestPathFinder, 5, 100, 100, 1, 20, new Random(373));
+    }
+
+    @Test
+    void findOn_randomGraphsWithZeroWeightEdges_returnsSameWeightsAsIndexedAStar() {
+        assertSameWeightsAsIndexedAStar(this::createShortestPathFinder, 5, 100, 100, 0, 3, new Random(373));
+    }
+}
@@ -0,0 +1,24 @@
+package graphpathfinding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static graphpathfinding.graphs.RandomGraphs.assertSameWeightsAsIndexedAStar;
+
+public class ContractionHierarchyPathFinderTests extends IndexedAStarPathFinderTests {
+    @Override
+    protected <VERTEX> ShortestPathFinder<VERTEX> createShortestPathFinder(IndexedAStarGraph<VERTEX> graph) {
+        return new ContractionHierarchyPathFinder<>(ContractionHierarchy.build(graph));
+    }
+
+    @Test
+    void findOn_randomGraphs_returnsSameWeightsAsIndexedAStar() {
+        assertSameWeightsAsIndexedAStar(this::createShortestPathFinder, 5, 200, 200, 1, 20, new Random(373));
+    }
+
+    @Test
+    void findOn_randomGraphsWithZeroWeightEdges_returnsSameWeightsAsIndexedAStar() {
+        assertSameWeightsAsIndexedAStar(this::createShortestPathFinder, 5, 200, 200, 0, 3, new Random(373));
+    }
+}
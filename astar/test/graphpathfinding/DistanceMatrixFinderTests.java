@@ -0,0 +1,94 @@
+package graphpathfinding;
+
+import edu.washington.cse373.BaseTest;
+import graphpathfinding.graphs.IndexedWeightedDirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static graphpathfinding.graphs.RandomGraphs.randomGraph;
+
+public class DistanceMatrixFinderTests extends BaseTest {
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    @Test
+    void distances_onSmallGraph_returnsCorrectTable() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(0, 2, 5);
+        DistanceMatrixFinder<Integer> finder = new DistanceMatrixFinder<>(graph);
+
+        double[][] table = finder.distances(List.of(0, 1, 3), List.of(2, 0, 2));
+
+        assertThat(table[0]).containsExactly(3.0, 0.0, 3.0);
+        assertThat(table[1]).containsExactly(2.0, Double.POSITIVE_INFINITY, 2.0);
+        assertThat(table[2]).containsExactly(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                                             Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void distances_withVertexNotInGraph_returnsInfinity() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(2);
+        graph.addEdge(0, 1, 1);
+        DistanceMatrixFinder<Integer> finder = new DistanceMatrixFinder<>(graph);
+
+        double[][] table = finder.distances(List.of(0, 5), List.of(1, 7));
+
+        assertThat(table[0]).containsExactly(1.0, Double.POSITIVE_INFINITY);
+        assertThat(table[1]).containsExactly(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void distances_withZeroWeightCycleAndUnreachableTarget_returnsCorrectTable() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 0, 0);
+        graph.addEdge(1, 2, 3);
+        DistanceMatrixFinder<Integer> finder = new DistanceMatrixFinder<>(graph);
+
+        double[][] table = finder.distances(List.of(0, 2), List.of(0, 1, 2, 3));
+
+        assertThat(table[0]).containsExactly(0.0, 0.0, 3.0, Double.POSITIVE_INFINITY);
+        assertThat(table[1]).containsExactly(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 0.0,
+                                             Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void distances_onRandomGraphs_matchesIndexedAStar() {
+        Random random = new Random(373);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 5; trial++) {
+                int numVertices = 200;
+                IndexedWeightedDirectedGraph graph = randomGraph(numVertices, random);
+                List<Integer> sources = new ArrayList<>();
+                List<Integer> targets = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    sources.add(random.nextInt(numVertices));
+                    targets.add(random.nextInt(numVertices));
+                }
+
+                double[][] table = new DistanceMatrixFinder<>(graph, pool).distances(sources, targets);
+
+                ShortestPathFinder<Integer> expected = new IndexedAStarPathFinder<>(graph);
+                for (int i = 0; i < sources.size(); i++) {
+                    for (int j = 0; j < targets.size(); j++) {
+                        ShortestPathResult<Integer> result = expected.findShortestPath(sources.get(i), targets.get(j),
+                                                                                        ONE_SECOND);
+                        double expectedDistance = result.isSolved()
+                            ? result.solutionWeight()
+                            : Double.POSITIVE_INFINITY;
+                        assertThat(table[i][j]).isEqualTo(expectedDistance);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package graphpathfinding;
+
+import graphpathfinding.graphs.IndexedWeightedDirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class IndexedAStarPathFinderTests extends AbstractPathFinderTests<IndexedWeightedDirectedGraph> {
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    protected <VERTEX> ShortestPathFinder<VERTEX> createShortestPathFinder(IndexedAStarGraph<VERTEX> graph) {
+        return new IndexedAStarPathFinder<>(graph);
+    }
+
+    @Override
+    protected IndexedWeightedDirectedGraph createGraph(int numVertices) {
+        return new IndexedWeightedDirectedGraph(numVertices);
+    }
+
+    @Override
+    protected ShortestPathFinder<Integer> createFinderFor(IndexedWeightedDirectedGraph graph) {
+        return createShortestPathFinder(graph);
+    }
+
+    @Test
+    void findOn_specExample_returnsCorrectPath() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(6);
+
+        graph.addEdge(0, 1, 50);
+        graph.addEdge(0, 2, 20);
+        graph.addEdge(1, 4, 20);
+        graph.addEdge(2, 3, 10);
+        graph.addEdge(3, 4, 70);
+        graph.addEdge(4, 3, 10);
+        graph.addEdge(4, 5, 100);
+
+        ShortestPathFinder<Integer> pathFinder = createShortestPathFinder(graph);
+        assertThat(pathFinder).shortestPath(0, 5, ONE_SECOND)
+            .hasSolution(0, 1, 4, 5)
+            .hasWeightCloseTo(170);
+    }
+
+    @Test
+    void findOn_lectureExample_returnsCorrectPath() {
+        ShortestPathFinder<Integer> pathFinder = createShortestPathFinder(createLectureExample());
+        assertThat(pathFinder).shortestPath(0, 6, ONE_SECOND)
+            .hasSolution(0, 1, 4, 6)
+            .hasWeightCloseTo(10);
+    }
+
+    @Test
+    void findWithSameStartAndEndVertex_returnsCorrectPath() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(2);
+        graph.addEdge(0, 1, 500);
+        ShortestPathFinder<Integer> pathFinder = createShortestPathFinder(graph);
+
+        assertThat(pathFinder).shortestPath(0, 0, ONE_SECOND)
+            .hasSolution(0)
+            .hasWeightCloseTo(0);
+    }
+
+    @Test
+    void findNonexistentPathOn_smallGraph_returnsUnsolvable() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(2);
+        ShortestPathFinder<Integer> pathFinder = createShortestPathFinder(graph);
+        assertThat(pathFinder).shortestPath(0, 1, ONE_SECOND)
+            .isUnsolvable();
+    }
+
+    @Test
+    void findWithVertexNotInGraph_returnsUnsolvable() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(2);
+        graph.addEdge(0, 1, 1);
+        ShortestPathFinder<Integer> pathFinder = createShortestPathFinder(graph);
+        assertThat(pathFinder).shortestPath(0, 2, ONE_SECOND)
+            .isUnsolvable();
+    }
+
+    @Test
+    void findOn_graphWhereLeastCostPathHasMoreEdgesThanOtherPaths_returnsCorrectPath() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(7);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 5, 1);
+        graph.addEdge(0, 4, 2);
+        graph.addEdge(4, 5, 3);
+        graph.addEdge(4, 6, 1);
+
+        ShortestPathFinder<Integer> pathFinder = createShortestPathFinder(graph);
+        assertThat(pathFinder).shortestPath(0, 5, ONE_SECOND)
+            .hasSolution(0, 1, 2, 3, 5)
+            .hasWeightCloseTo(4);
+    }
+}
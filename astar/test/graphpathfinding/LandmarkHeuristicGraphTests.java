@@ -0,0 +1,79 @@
+package graphpathfinding;
+
+import graphpathfinding.graphs.IndexedWeightedDirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static graphpathfinding.graphs.RandomGraphs.randomGraph;
+
+/**
+ * Runs the IndexedAStarPathFinder tests on graphs wrapped in a LandmarkHeuristicGraph, and checks
+ * that the landmark heuristic never overestimates.
+ */
+public class LandmarkHeuristicGraphTests extends IndexedAStarPathFinderTests {
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    @Override
+    protected <VERTEX> ShortestPathFinder<VERTEX> createShortestPathFinder(IndexedAStarGraph<VERTEX> graph) {
+        return new IndexedAStarPathFinder<>(new LandmarkHeuristicGraph<>(graph, 3));
+    }
+
+    @Test
+    void estimatedDistanceToGoal_neverOverestimates() {
+        Random random = new Random(373);
+        IndexedWeightedDirectedGraph graph = randomGraph(100, random);
+        LandmarkHeuristicGraph<Integer> landmarkGraph = new LandmarkHeuristicGraph<>(graph, 4);
+        ShortestPathFinder<Integer> pathFinder = new IndexedAStarPathFinder<>(graph);
+        for (int v = 0; v < 100; v++) {
+            for (int goal = 0; goal < 100; goal++) {
+                double distance = pathFinder.findShortestPath(v, goal, ONE_SECOND).solutionWeight();
+                assertThat(landmarkGraph.estimatedDistanceToGoal(v, goal)).isLessThanOrEqualTo(distance);
+            }
+        }
+    }
+
+    @Test
+    void findOn_randomGraphs_returnsSameWeightsAndExploresNoMore() {
+        Random random = new Random(373);
+        for (int trial = 0; trial < 5; trial++) {
+            IndexedWeightedDirectedGraph graph = randomGraph(200, random);
+            ShortestPathFinder<Integer> expected = new IndexedAStarPathFinder<>(graph);
+            ShortestPathFinder<Integer> actual = createShortestPathFinder(graph);
+            int expectedExplored = 0;
+            int actualExplored = 0;
+            for (int query = 0; query < 200; query++) {
+                int start = random.nextInt(200);
+                int end = random.nextInt(200);
+                ShortestPathResult<Integer> expectedResult = expected.findShortestPath(start, end, ONE_SECOND);
+                ShortestPathResult<Integer> actualResult = actual.findShortestPath(start, end, ONE_SECOND);
+                assertThat(actualResult.solutionWeight()).isEqualTo(expectedResult.solutionWeight());
+                expectedExplored += expectedResult.numStatesExplored();
+                actualExplored += actualResult.numStatesExplored();
+            }
+            assertThat(actualExplored).isLessThanOrEqualTo(expectedExplored);
+        }
+    }
+
+    @Test
+    void reverseGraph_neighborsAreIncomingEdgesReversed() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(3);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(2, 1, 5);
+        graph.addEdge(1, 0, 7);
+        LandmarkHeuristicGraph.ReverseGraph reverse = new LandmarkHeuristicGraph.ReverseGraph(graph);
+
+        assertThat(reverse.neighbors(1)).extracting(WeightedEdge::from, WeightedEdge::to, WeightedEdge::weight)
+            .containsExactlyInAnyOrder(tuple(1, 0, 2.0), tuple(1, 2, 5.0));
+        assertThat(reverse.neighbors(0)).extracting(WeightedEdge::from, WeightedEdge::to, WeightedEdge::weight)
+            .containsExactly(tuple(0, 1, 7.0));
+        assertThat(reverse.neighbors(2)).isEmpty();
+    }
+
+    @Test
+    void landmarks_areDistinct() {
+        LandmarkHeuristicGraph<Integer> graph = new LandmarkHeuristicGraph<>(randomGraph(100, new Random(373)), 8);
+        assertThat(graph.landmarks()).doesNotHaveDuplicates();
+    }
+}
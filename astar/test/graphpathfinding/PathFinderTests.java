@@ -1,6 +1,5 @@
 package graphpathfinding;
 
-import edu.washington.cse373.BaseTest;
 import graphpathfinding.graphs.CustomVertexGraph;
 import graphpathfinding.graphs.InfiniteBidirectionalGraph;
 import graphpathfinding.graphs.InfiniteUnidirectionalGraph;
@@ -11,15 +10,21 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.stream.IntStream;
 
-public class PathFinderTests extends BaseTest {
+public class PathFinderTests extends AbstractPathFinderTests<WeightedDirectedGraph> {
     private static final Duration ONE_SECOND = Duration.ofSeconds(1);
 
     protected <VERTEX> ShortestPathFinder<VERTEX> createShortestPathFinder(AStarGraph<VERTEX> graph) {
         return new AStarPathFinder<>(graph);
     }
 
-    protected <VERTEX> ShortestPathFinderAssert<VERTEX> assertThat(ShortestPathFinder<VERTEX> actual) {
-        return new ShortestPathFinderAssert<>(actual);
+    @Override
+    protected WeightedDirectedGraph createGraph(int numVertices) {
+        return new WeightedDirectedGraph(numVertices);
+    }
+
+    @Override
+    protected ShortestPathFinder<Integer> createFinderFor(WeightedDirectedGraph graph) {
+        return createShortestPathFinder(graph);
     }
 
     @Test
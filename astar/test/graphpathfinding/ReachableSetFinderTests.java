@@ -0,0 +1,121 @@
+package graphpathfinding;
+
+import edu.washington.cse373.BaseTest;
+import graphpathfinding.graphs.IndexedWeightedDirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static graphpathfinding.graphs.RandomGraphs.randomGraph;
+
+public class ReachableSetFinderTests extends BaseTest {
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    @Test
+    void search_onSmallGraph_returnsVerticesWithinDistance() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(5);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(4, 0, 1);
+        ReachableSetFinder<Integer> finder = new ReachableSetFinder<>(graph);
+
+        assertThat(finder.search(0, 3)).isEqualTo(3);
+
+        assertThat(reachedDistances(finder)).containsOnly(entry(0, 0.0), entry(1, 1.0), entry(2, 3.0));
+        assertThat(finder.reached(0)).isEqualTo(0);
+    }
+
+    @Test
+    void search_withVertexNotInGraph_reachesNothing() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(2);
+        graph.addEdge(0, 1, 1);
+        ReachableSetFinder<Integer> finder = new ReachableSetFinder<>(graph);
+
+        assertThat(finder.search(7, 10)).isEqualTo(0);
+        assertThat(finder.numReached()).isEqualTo(0);
+        assertThatThrownBy(() -> finder.reached(0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void search_withBudgetExactlyOnEdgeBoundary_includesVertexAtBudget() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(3, 0, 1);
+        ReachableSetFinder<Integer> finder = new ReachableSetFinder<>(graph);
+
+        assertThat(finder.search(0, 5)).isEqualTo(3);
+        assertThat(reachedDistances(finder)).containsOnly(entry(0, 0.0), entry(1, 2.0), entry(2, 5.0));
+        assertThat(finder.search(0, Math.nextDown(5.0))).isEqualTo(2);
+        assertThat(reachedDistances(finder)).containsOnly(entry(0, 0.0), entry(1, 2.0));
+        assertThat(finder.search(0, 2)).isEqualTo(2);
+        assertThat(reachedDistances(finder)).containsOnly(entry(0, 0.0), entry(1, 2.0));
+    }
+
+    @Test
+    void search_withZeroBudget_reachesSourceAndZeroWeightNeighborsOnly() {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 0, 0);
+        graph.addEdge(1, 2, 1);
+        ReachableSetFinder<Integer> finder = new ReachableSetFinder<>(graph);
+
+        assertThat(finder.search(0, 0)).isEqualTo(2);
+        assertThat(reachedDistances(finder)).containsOnly(entry(0, 0.0), entry(1, 0.0));
+        // vertex 3 has no edges, so nothing else can reach it and it reaches only itself
+        assertThat(finder.search(3, 100)).isEqualTo(1);
+        assertThat(reachedDistances(finder)).containsOnly(entry(3, 0.0));
+    }
+
+    @Test
+    void search_repeatedOnRandomGraphs_matchesIndexedAStar() {
+        assertMatchesIndexedAStar(1, 20);
+    }
+
+    @Test
+    void search_repeatedOnRandomGraphsWithZeroWeightEdges_matchesIndexedAStar() {
+        assertMatchesIndexedAStar(0, 3);
+    }
+
+    private void assertMatchesIndexedAStar(int minWeight, int maxWeight) {
+        Random random = new Random(373);
+        for (int trial = 0; trial < 5; trial++) {
+            int numVertices = 200;
+            IndexedWeightedDirectedGraph graph = randomGraph(numVertices, minWeight, maxWeight, random);
+            // the same finder is reused for every search, so stale state would show up here
+            ReachableSetFinder<Integer> finder = new ReachableSetFinder<>(graph);
+            ShortestPathFinder<Integer> expected = new IndexedAStarPathFinder<>(graph);
+            for (int query = 0; query < 20; query++) {
+                int source = random.nextInt(numVertices);
+                double maxDistance = random.nextInt(40);
+                finder.search(source, maxDistance);
+                Map<Integer, Double> actual = reachedDistances(finder);
+
+                for (int v = 0; v < numVertices; v++) {
+                    ShortestPathResult<Integer> result = expected.findShortestPath(source, v, ONE_SECOND);
+                    if (result.isSolved() && result.solutionWeight() <= maxDistance) {
+                        assertThat(actual).containsEntry(v, result.solutionWeight());
+                    } else {
+                        assertThat(actual).doesNotContainKey(v);
+                    }
+                }
+                for (int i = 1; i < finder.numReached(); i++) {
+                    assertThat(finder.reachedDistance(i)).isGreaterThanOrEqualTo(finder.reachedDistance(i - 1));
+                }
+            }
+        }
+    }
+
+    private Map<Integer, Double> reachedDistances(ReachableSetFinder<Integer> finder) {
+        Map<Integer, Double> reached = new HashMap<>();
+        for (int i = 0; i < finder.numReached(); i++) {
+            assertThat(reached.put(finder.reached(i), finder.reachedDistance(i))).isNull();
+        }
+        return reached;
+    }
+}
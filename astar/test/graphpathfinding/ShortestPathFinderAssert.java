@@ -83,6 +83,28 @@ public class ShortestPathFinderAssert<VERTEX>
             extractOutcome().isEqualTo(ShortestPathResult.SolverOutcome.SOLVED);
             // Use Object here since we don't have the exactly type of VERTEX
             extractSolution().containsExactly(vertices);
+            return hasEdgesAlongSolution();
+        }
+
+        /** Checks that the solution's edges lead from each vertex of the solution to the next. */
+        public ShortestPathResultAssert<VERTEX> hasEdgesAlongSolution() {
+            List<VERTEX> solution = actual.solution();
+            List<WeightedEdge<VERTEX>> edges = actual.solutionEdges();
+            extracting(ShortestPathResult::solutionEdges, InstanceOfAssertFactories.list(Object.class))
+                .as(describe("solution edges"))
+                .hasSize(Math.max(solution.size() - 1, 0));
+            double weight = 0;
+            for (int i = 0; i < edges.size(); i++) {
+                WeightedEdge<VERTEX> edge = edges.get(i);
+                if (!edge.from().equals(solution.get(i)) || !edge.to().equals(solution.get(i + 1))) {
+                    as(describe("solution edges"))
+                        .failWithMessage("Edge %d %s doesn't match the solution", i, edge);
+                }
+                weight += edge.weight();
+            }
+            if (!edges.isEmpty()) {
+                hasWeightCloseTo(weight);
+            }
             return this;
         }
 
@@ -110,7 +132,7 @@ public class ShortestPathFinderAssert<VERTEX>
             extractSolution().last().as(describe("last vertex")).isEqualTo(this.end);
             // check transitions are valid according to graph
             checkHasValidTransitions();
-            return this;
+            return hasEdgesAlongSolution();
         }
 
         private void checkHasValidTransitions() {
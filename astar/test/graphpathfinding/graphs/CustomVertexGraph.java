@@ -1,6 +1,6 @@
 package graphpathfinding.graphs;
 
-import graphpathfinding.AStarGraph;
+import graphpathfinding.ReversibleAStarGraph;
 import graphpathfinding.WeightedEdge;
 
 import java.util.ArrayList;
@@ -8,16 +8,19 @@ import java.util.List;
 import java.util.Objects;
 
 /** A graph with custom vertex objects. */
-public class CustomVertexGraph implements AStarGraph<CustomVertexGraph.CustomVertex> {
+public class CustomVertexGraph implements ReversibleAStarGraph<CustomVertexGraph.CustomVertex> {
     private List<List<WeightedEdge<CustomVertex>>> adj;
+    private List<List<WeightedEdge<CustomVertex>>> reverseAdj;
 
     /**
      * Creates a graph with the given number of vertices, and with no edges.
      */
     public CustomVertexGraph(int numVertices) {
         adj = new ArrayList<>(numVertices);
+        reverseAdj = new ArrayList<>(numVertices);
         for (int i = 0; i < numVertices; i += 1) {
             adj.add(new ArrayList<>());
+            reverseAdj.add(new ArrayList<>());
         }
     }
 
@@ -26,6 +29,11 @@ public class CustomVertexGraph implements AStarGraph<CustomVertexGraph.CustomVer
         return adj.get(v.id);
     }
 
+    @Override
+    public List<WeightedEdge<CustomVertex>> reverseNeighbors(CustomVertex v) {
+        return reverseAdj.get(v.id);
+    }
+
     /**
      * Very crude heuristic that just returns the weight of the smallest edge out of vertex s.
      */
@@ -43,6 +51,7 @@ public class CustomVertexGraph implements AStarGraph<CustomVertexGraph.CustomVer
     public void addEdge(int p, int q, double w) {
         WeightedEdge<CustomVertex> e = new WeightedEdge<>(new CustomVertex(p), new CustomVertex(q), w);
         adj.get(p).add(e);
+        reverseAdj.get(q).add(new WeightedEdge<>(new CustomVertex(q), new CustomVertex(p), w));
     }
 
     /**
@@ -0,0 +1,78 @@
+package graphpathfinding.graphs;
+
+import graphpathfinding.IndexedAStarGraph;
+import graphpathfinding.WeightedEdge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link WeightedDirectedGraph} that also numbers its vertices and edges, for testing path
+ * finders that require an {@link IndexedAStarGraph}.
+ */
+public class IndexedWeightedDirectedGraph extends WeightedDirectedGraph implements IndexedAStarGraph<Integer> {
+    private final int numVertices;
+    private int[] edgeOffsets;
+    private List<WeightedEdge<Integer>> edges;
+
+    /**
+     * Creates a graph with the given number of vertices, and with no edges.
+     */
+    public IndexedWeightedDirectedGraph(int numVertices) {
+        super(numVertices);
+        this.numVertices = numVertices;
+        reindexEdges();
+    }
+
+    @Override
+    public void addEdge(int p, int q, double w) {
+        super.addEdge(p, q, w);
+        reindexEdges();
+    }
+
+    /** Lays out the edges of every vertex contiguously, in vertex order. */
+    private void reindexEdges() {
+        edgeOffsets = new int[numVertices + 1];
+        edges = new ArrayList<>();
+        for (int v = 0; v < numVertices; v += 1) {
+            edgeOffsets[v] = edges.size();
+            edges.addAll(neighbors(v));
+        }
+        edgeOffsets[numVertices] = edges.size();
+    }
+
+    @Override
+    public int numVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int indexOf(Integer v) {
+        return v >= 0 && v < numVertices ? v : -1;
+    }
+
+    @Override
+    public Integer vertex(int index) {
+        return index;
+    }
+
+    @Override
+    public int edgeStart(int index) {
+        return edgeOffsets[index];
+    }
+
+    @Override
+    public int edgeEnd(int index) {
+        return edgeOffsets[index + 1];
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return edges.get(edge).to();
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return edges.get(edge).weight();
+    }
+}
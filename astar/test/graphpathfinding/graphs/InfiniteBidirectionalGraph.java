@@ -1,6 +1,6 @@
 package graphpathfinding.graphs;
 
-import graphpathfinding.AStarGraph;
+import graphpathfinding.ReversibleAStarGraph;
 import graphpathfinding.WeightedEdge;
 
 import java.util.Collection;
@@ -12,7 +12,7 @@ import java.util.Set;
  *  ... <-> 0 <-> 1 <-> 2 <-> 3 <-> ...
  *  Every vertex i has two neighbors: the vertices i-1 and i+1.
  */
-public class InfiniteBidirectionalGraph implements AStarGraph<Integer> {
+public class InfiniteBidirectionalGraph implements ReversibleAStarGraph<Integer> {
     @Override
     public Collection<WeightedEdge<Integer>> neighbors(Integer v) {
         Set<WeightedEdge<Integer>> neighbors = new HashSet<>();
@@ -21,6 +21,11 @@ public class InfiniteBidirectionalGraph implements AStarGraph<Integer> {
         return neighbors;
     }
 
+    @Override
+    public Collection<WeightedEdge<Integer>> reverseNeighbors(Integer v) {
+        return neighbors(v);
+    }
+
     @Override
     public double estimatedDistanceToGoal(Integer v, Integer goal) {
         return Math.abs(v - goal);
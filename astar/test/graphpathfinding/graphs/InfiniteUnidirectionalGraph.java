@@ -1,6 +1,6 @@
 package graphpathfinding.graphs;
 
-import graphpathfinding.AStarGraph;
+import graphpathfinding.ReversibleAStarGraph;
 import graphpathfinding.WeightedEdge;
 
 import java.util.Collection;
@@ -12,7 +12,7 @@ import java.util.Set;
  *  ... --> 0 --> 1 --> 2 --> 3 --> ...
  *  Every vertex i has one neighbor: the vertex i+1.
  */
-public class InfiniteUnidirectionalGraph implements AStarGraph<Integer> {
+public class InfiniteUnidirectionalGraph implements ReversibleAStarGraph<Integer> {
     @Override
     public Collection<WeightedEdge<Integer>> neighbors(Integer v) {
         Set<WeightedEdge<Integer>> neighbors = new HashSet<>();
@@ -20,6 +20,13 @@ public class InfiniteUnidirectionalGraph implements AStarGraph<Integer> {
         return neighbors;
     }
 
+    @Override
+    public Collection<WeightedEdge<Integer>> reverseNeighbors(Integer v) {
+        Set<WeightedEdge<Integer>> neighbors = new HashSet<>();
+        neighbors.add(new WeightedEdge<>(v, v - 1, 1));
+        return neighbors;
+    }
+
     @Override
     public double estimatedDistanceToGoal(Integer v, Integer goal) {
         return Math.abs(goal - v);
@@ -0,0 +1,92 @@
+package graphpathfinding.graphs;
+
+import graphpathfinding.IndexedAStarPathFinder;
+import graphpathfinding.ShortestPathFinder;
+import graphpathfinding.ShortestPathResult;
+import graphpathfinding.WeightedEdge;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the random graphs that tests use to compare path finders against each other, and checks
+ * the paths they return.
+ */
+public class RandomGraphs {
+    /** The number of edges to add per vertex, which leaves most vertices reachable from each other. */
+    private static final int EDGES_PER_VERTEX = 3;
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    private RandomGraphs() {
+    }
+
+    /** Returns a random graph with edge weights from 1 through 20. */
+    public static IndexedWeightedDirectedGraph randomGraph(int numVertices, Random random) {
+        return randomGraph(numVertices, 1, 20, random);
+    }
+
+    /**
+     * Returns a graph with random edges between the given number of vertices, each with a whole
+     * weight from minWeight through maxWeight. Edges may be self-loops or parallel to other edges.
+     */
+    public static IndexedWeightedDirectedGraph randomGraph(int numVertices, int minWeight, int maxWeight,
+                                                           Random random) {
+        IndexedWeightedDirectedGraph graph = new IndexedWeightedDirectedGraph(numVertices);
+        for (int i = 0; i < numVertices * EDGES_PER_VERTEX; i++) {
+            graph.addEdge(random.nextInt(numVertices), random.nextInt(numVertices),
+                          minWeight + random.nextInt(maxWeight - minWeight + 1));
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the total weight of the edges along the result's path, taking the lightest edge
+     * between each pair of vertices, or infinity if some pair isn't connected by an edge.
+     */
+    public static double pathWeight(WeightedDirectedGraph graph, ShortestPathResult<Integer> result) {
+        double weight = 0;
+        for (int i = 0; i + 1 < result.solution().size(); i++) {
+            int from = result.solution().get(i);
+            int to = result.solution().get(i + 1);
+            double lightest = Double.POSITIVE_INFINITY;
+            for (WeightedEdge<Integer> edge : graph.neighbors(from)) {
+                if (edge.to() == to) {
+                    lightest = Math.min(lightest, edge.weight());
+                }
+            }
+            weight += lightest;
+        }
+        return weight;
+    }
+
+    /**
+     * Checks that the path finders created by createFinder find paths with the same weights as
+     * IndexedAStarPathFinder between random pairs of vertices, on numTrials random graphs with the
+     * given number of vertices and range of weights, and that each path really has its weight.
+     */
+    public static void assertSameWeightsAsIndexedAStar(
+            Function<IndexedWeightedDirectedGraph, ShortestPathFinder<Integer>> createFinder,
+            int numTrials, int numVertices, int numQueries, int minWeight, int maxWeight, Random random) {
+        for (int trial = 0; trial < numTrials; trial++) {
+            IndexedWeightedDirectedGraph graph = randomGraph(numVertices, minWeight, maxWeight, random);
+            ShortestPathFinder<Integer> expected = new IndexedAStarPathFinder<>(graph);
+            ShortestPathFinder<Integer> actual = createFinder.apply(graph);
+            for (int query = 0; query < numQueries; query++) {
+                int start = random.nextInt(numVertices);
+                int end = random.nextInt(numVertices);
+                ShortestPathResult<Integer> expectedResult = expected.findShortestPath(start, end, ONE_SECOND);
+                ShortestPathResult<Integer> actualResult = actual.findShortestPath(start, end, ONE_SECOND);
+                assertThat(actualResult.isSolved()).isEqualTo(expectedResult.isSolved());
+                assertThat(actualResult.solutionWeight()).isEqualTo(expectedResult.solutionWeight());
+                if (actualResult.isSolved()) {
+                    assertThat(actualResult.solution().get(0)).isEqualTo(start);
+                    assertThat(actualResult.solution().get(actualResult.solution().size() - 1)).isEqualTo(end);
+                    assertThat(pathWeight(graph, actualResult)).isEqualTo(actualResult.solutionWeight());
+                }
+            }
+        }
+    }
+}
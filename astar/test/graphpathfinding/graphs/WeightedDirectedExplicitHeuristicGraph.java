@@ -1,6 +1,6 @@
 package graphpathfinding.graphs;
 
-import graphpathfinding.AStarGraph;
+import graphpathfinding.ReversibleAStarGraph;
 import graphpathfinding.WeightedEdge;
 
 import java.util.ArrayList;
@@ -10,8 +10,9 @@ import java.util.List;
  * A simple AStarGraph with a fixed number of vertices, explicitly-specified heuristic values,
  * and explicitly-specified edges.
  */
-public class WeightedDirectedExplicitHeuristicGraph implements AStarGraph<Integer> {
+public class WeightedDirectedExplicitHeuristicGraph implements ReversibleAStarGraph<Integer> {
     private List<List<WeightedEdge<Integer>>> adj;
+    private List<List<WeightedEdge<Integer>>> reverseAdj;
     private final double[] heuristicValues;
 
     /**
@@ -19,9 +20,11 @@ public class WeightedDirectedExplicitHeuristicGraph implements AStarGraph<Intege
      */
     public WeightedDirectedExplicitHeuristicGraph(double... heuristicValues) {
         adj = new ArrayList<>(heuristicValues.length);
+        reverseAdj = new ArrayList<>(heuristicValues.length);
         this.heuristicValues = heuristicValues;
         for (int i = 0; i < heuristicValues.length; i += 1) {
             adj.add(new ArrayList<>());
+            reverseAdj.add(new ArrayList<>());
         }
     }
 
@@ -30,6 +33,11 @@ public class WeightedDirectedExplicitHeuristicGraph implements AStarGraph<Intege
         return adj.get(v);
     }
 
+    @Override
+    public List<WeightedEdge<Integer>> reverseNeighbors(Integer v) {
+        return reverseAdj.get(v);
+    }
+
     @Override
     public double estimatedDistanceToGoal(Integer v, Integer goal) {
         if (v < 0 || v >= heuristicValues.length) {
@@ -41,5 +49,6 @@ public class WeightedDirectedExplicitHeuristicGraph implements AStarGraph<Intege
     public void addEdge(int p, int q, double w) {
         WeightedEdge<Integer> e = new WeightedEdge<>(p, q, w);
         adj.get(p).add(e);
+        reverseAdj.get(q).add(new WeightedEdge<>(q, p, w));
     }
 }
@@ -1,22 +1,25 @@
 package graphpathfinding.graphs;
 
-import graphpathfinding.AStarGraph;
+import graphpathfinding.ReversibleAStarGraph;
 import graphpathfinding.WeightedEdge;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /** A very simple AStarGraph with a fixed number of vertices and explicitly-specified edges. */
-public class WeightedDirectedGraph implements AStarGraph<Integer> {
+public class WeightedDirectedGraph implements ReversibleAStarGraph<Integer> {
     private List<List<WeightedEdge<Integer>>> adj;
+    private List<List<WeightedEdge<Integer>>> reverseAdj;
 
     /**
      * Creates a graph with the given number of vertices, and with no edges.
      */
     public WeightedDirectedGraph(int numVertices) {
         adj = new ArrayList<>(numVertices);
+        reverseAdj = new ArrayList<>(numVertices);
         for (int i = 0; i < numVertices; i += 1) {
             adj.add(new ArrayList<>());
+            reverseAdj.add(new ArrayList<>());
         }
     }
 
@@ -25,6 +28,11 @@ public class WeightedDirectedGraph implements AStarGraph<Integer> {
         return adj.get(v);
     }
 
+    @Override
+    public List<WeightedEdge<Integer>> reverseNeighbors(Integer v) {
+        return reverseAdj.get(v);
+    }
+
     /**
      * Very crude heuristic that just returns the weight of the smallest edge out of vertex s.
      */
@@ -42,5 +50,6 @@ public class WeightedDirectedGraph implements AStarGraph<Integer> {
     public void addEdge(int p, int q, double w) {
         WeightedEdge<Integer> e = new WeightedEdge<>(p, q, w);
         adj.get(p).add(e);
+        reverseAdj.get(q).add(new WeightedEdge<>(q, p, w));
     }
 }
@@ -2,6 +2,7 @@ package arrayutils;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.PriorityQueue;
 
 public interface ArraySearcher<T, U> {
     /**
@@ -36,5 +37,47 @@ public interface ArraySearcher<T, U> {
             Arrays.sort(matches, comparator);
             return matches;
         }
+
+        /**
+         * Returns the first k matches (or all of them, if there are fewer) in the order given by
+         * the comparator, the same as the start of sortedBy(comparator) but without sorting the
+         * rest of the matches.
+         * @throws IllegalArgumentException if k is negative or comparator is null
+         */
+        public T[] topK(int k, Comparator<T> comparator) {
+            T[] matches = unsorted();
+            return topK(matches, 0, matches.length, k, comparator);
+        }
+
+        /**
+         * Returns the first k items of array[start] through array[end - 1] in the order given by the
+         * comparator, keeping equal items in their original order like a stable sort would. Selects
+         * them with a heap of at most k positions, so the range itself is neither copied nor changed.
+         * @throws IllegalArgumentException if k is negative or comparator is null
+         */
+        protected static <T> T[] topK(T[] array, int start, int end, int k, Comparator<T> comparator) {
+            if (k < 0 || comparator == null) {
+                throw new IllegalArgumentException();
+            }
+            int size = Math.min(k, end - start);
+            Comparator<Integer> order = Comparator.<Integer, T>comparing(i -> array[i], comparator)
+                .thenComparingInt(i -> i);
+            // the head of the heap is the worst of the best items found so far
+            PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(1, size), order.reversed());
+            for (int i = start; i < end && size > 0; i++) {
+                if (best.size() < size) {
+                    best.add(i);
+                } else if (order.compare(i, best.peek()) < 0) {
+                    best.poll();
+                    best.add(i);
+                }
+            }
+            // We need to jump through some hoops to get a new T[] due to the way Java handles generics.
+            T[] result = Arrays.copyOf(array, size);
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = array[best.poll()];
+            }
+            return result;
+        }
     }
 }
@@ -68,8 +68,12 @@ public class BinaryRangeSearcher<T, U> implements ArraySearcher<T, U> {
         if (target == null) {
             throw new IllegalArgumentException();
         }
-        int headMatch = this.matcher.match(this.array[0], target);
-        int tailMatch = this.matcher.match(this.array[this.array.length - 1], target);
+        if (this.array.length == 0) {
+            return new BinaryRangeSearcher.MatchResult<>(this.array);
+        }
+        // matchers may return any negative or positive value, not just -1 and 1
+        int headMatch = Integer.signum(this.matcher.match(this.array[0], target));
+        int tailMatch = Integer.signum(this.matcher.match(this.array[this.array.length - 1], target));
         int startInclusive;
         int endInclusive;
         if (headMatch == 0 && tailMatch == 0) { //all are matches
@@ -102,40 +106,48 @@ public class BinaryRangeSearcher<T, U> implements ArraySearcher<T, U> {
     //   -1        1   some match
     //   0         1   some match
 
+    /**
+     * Returns the first index in start through end whose item matches str, or -1 if none do,
+     * calling the matcher once per probe.
+     */
     private int searchStartIndex(U str, int start, int end) {
-        if (start > end) {
-            return -1;
-        }
-        int mid = (start + end) / 2;
-        if (this.matcher.match(this.array[mid], str) > 0) {
-            return searchStartIndex(str, start, mid - 1);
-        } else if (this.matcher.match(this.array[mid], str) < 0) {
-            return searchStartIndex(str, mid + 1, end);
-        } else if (mid == 0 || this.matcher.match(this.array[mid - 1], str) < 0) {
-            return mid; // front start inclusive
-        } else {
-            return searchStartIndex(str, start, mid - 1);
+        int first = -1;
+        while (start <= end) {
+            int mid = (start + end) >>> 1;
+            int match = this.matcher.match(this.array[mid], str);
+            if (match < 0) {
+                start = mid + 1;
+            } else {
+                if (match == 0) {
+                    first = mid; // front start inclusive
+                }
+                end = mid - 1;
+            }
         }
+        return first;
     }
 
+    /**
+     * Returns the last index in start through end whose item matches str, or -1 if none do,
+     * calling the matcher once per probe.
+     */
     private int searchEndIndex(U str, int start, int end) {
-        if (start > end) {
-            return -1;
-        }
-        int mid = (start + end) / 2;
-        if (this.matcher.match(this.array[mid], str) > 0) {
-            return searchEndIndex(str, start, mid - 1);
-        } else if (this.matcher.match(this.array[mid], str) < 0) {
-            return searchEndIndex(str, mid + 1, end);
-        } else if (mid == this.array.length - 1 || this.matcher.match(this.array[mid + 1], str) > 0) {
-            return mid; // back end inclusive
-        } else {
-            return searchEndIndex(str, mid + 1, end);
+        int last = -1;
+        while (start <= end) {
+            int mid = (start + end) >>> 1;
+            int match = this.matcher.match(this.array[mid], str);
+            if (match > 0) {
+                end = mid - 1;
+            } else {
+                if (match == 0) {
+                    last = mid; // back end inclusive
+                }
+                start = mid + 1;
+            }
         }
+        return last;
     }
 
-
-
     public static class MatchResult<T> extends AbstractMatchResult<T> {
         final T[] array;
         final int start;
@@ -165,5 +177,11 @@ public class BinaryRangeSearcher<T, U> implements ArraySearcher<T, U> {
         public T[] unsorted() {
             return Arrays.copyOfRange(this.array, this.start, this.end);
         }
+
+        /** Selects straight from the matching range of the searcher's array, without copying it. */
+        @Override
+        public T[] topK(int k, Comparator<T> comparator) {
+            return topK(this.array, this.start, this.end, k, comparator);
+        }
     }
 }
@@ -1,6 +1,5 @@
 package autocomplete;
 
-import arrayutils.ArraySearcher;
 import arrayutils.BinaryRangeSearcher;
 import edu.princeton.cs.algs4.In;
 
@@ -13,7 +12,7 @@ import java.util.function.Function;
 import static arrayutils.ArraySearcher.Matcher;
 
 /**
- * A class that loads Terms from a file and uses ArraySearcher to find autocomplete suggestions
+ * A class that loads Terms from a file and uses a TermSearcher to find autocomplete suggestions
  * from those Terms.
  *
  * Includes a console interface to display the suggestions to a user.
@@ -21,20 +20,31 @@ import static arrayutils.ArraySearcher.Matcher;
 public class Autocomplete {
     protected static final String FILENAME = "autocomplete/data/cities.txt";
 
-    private final ArraySearcher<Term, String> searcher;
+    private final TermSearcher searcher;
 
     /**
-     * Creates a new Autocomplete instance for the given array of Terms.
+     * Creates a new Autocomplete instance for the given array of Terms, searched using a
+     * {@link TermTrie} so that the heaviest few matches can be found without sorting all of them.
+     */
+    public Autocomplete(Term[] terms) {
+        this(TermTrie.forTerms(terms));
+    }
+
+    /**
+     * Creates a new Autocomplete instance that searches the given array of Terms using a
+     * {@link BinaryRangeSearcher}.
      *
      * Since {@link Comparator} and {@link Matcher} are defined as {@link FunctionalInterface}s,
      * we can simply pass in the methods from {@link Term} as arguments and let Java automagically
      * convert them into the proper objects.
      */
-    public Autocomplete(Term[] terms) {
-        this(BinaryRangeSearcher.forUnsortedArray(terms, Term::queryOrder, Term::matchesPrefix));
+    static Autocomplete withBinaryRangeSearcher(Term[] terms) {
+        BinaryRangeSearcher<Term, String> searcher = BinaryRangeSearcher.forUnsortedArray(
+            terms, Term::queryOrder, Term::matchesPrefix);
+        return new Autocomplete(searcher::findAllMatches);
     }
 
-    protected Autocomplete(ArraySearcher<Term, String> searcher) {
+    protected Autocomplete(TermSearcher searcher) {
         this.searcher = searcher;
     }
 
@@ -42,6 +52,14 @@ public class Autocomplete {
         return this.searcher.findAllMatches(prefix).sortedBy(Term::reverseWeightOrder);
     }
 
+    /**
+     * Returns up to k of the terms matching the prefix, from the heaviest to the lightest.
+     * @throws IllegalArgumentException if k is negative
+     */
+    public Term[] findTopMatchesForPrefix(String prefix, int k) {
+        return this.searcher.findTopMatches(prefix, k);
+    }
+
     static Autocomplete loadFromFile(String filename) {
         return loadFromFile(filename, DefaultTerm::new, Autocomplete::new);
     }
@@ -500,8 +500,8 @@ public class AutocompleteGUI extends JFrame {
             else {
                 int textLen = text.length();
 
-                // get all matching terms
-                Term[] allResults = auto.findMatchesForPrefix(text);
+                // get the heaviest k matching terms
+                Term[] allResults = auto.findTopMatchesForPrefix(text, k);
                 if (allResults == null) {
                     throw new NullPointerException("allMatches() is null");
                 }
@@ -0,0 +1,29 @@
+package autocomplete;
+
+/**
+ * Folds the case of queries and prefixes, so that every part of autocomplete ignores case in the
+ * same way.
+ *
+ * Each character is folded on its own, exactly as {@link String#CASE_INSENSITIVE_ORDER} compares
+ * characters. This means that folding never changes a string's length and doesn't depend on the
+ * default locale (unlike {@link String#toLowerCase()}), and comparing folded strings character by
+ * character agrees with that comparator.
+ */
+public class CaseFolding {
+    private CaseFolding() {
+    }
+
+    /** Returns the case-folded form of the given character. */
+    public static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /** Returns the given string with each of its characters case-folded. */
+    public static String fold(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+}
@@ -11,8 +11,10 @@ import java.util.Objects;
  * @see Term
  */
 public class DefaultTerm implements Term {
-    private String query;
-    private long weight;
+    private final String query;
+    private final long weight;
+    /** The case-folded query, computed once so that matching a prefix doesn't allocate. */
+    private final String key;
 
     /**
      * Initializes a term with the given query string and weight.
@@ -24,6 +26,7 @@ public class DefaultTerm implements Term {
         }
         this.query = query;
         this.weight = weight;
+        this.key = CaseFolding.fold(query);
     }
 
     @Override
@@ -78,12 +81,20 @@ public class DefaultTerm implements Term {
         return Long.compare(that.weight(), this.weight); // this code replaces the if-else statements
     }
 
+    /**
+     * Compares the case-folded query with the prefix one character at a time, folding the prefix as
+     * it goes, so the sign of the result agrees with {@link String#compareToIgnoreCase}.
+     */
     @Override
     public int matchesPrefix(String prefix) {
-        if (this.query.toLowerCase().indexOf(prefix.toLowerCase()) == 0) {
-            return 0;
-        } else {
-            return this.query.compareToIgnoreCase(prefix);
+        int length = Math.min(this.key.length(), prefix.length());
+        for (int i = 0; i < length; i++) {
+            char expected = CaseFolding.fold(prefix.charAt(i));
+            if (this.key.charAt(i) != expected) {
+                return this.key.charAt(i) - expected;
+            }
         }
+        // the query starts with the prefix unless the query is shorter
+        return this.key.length() >= prefix.length() ? 0 : this.key.length() - prefix.length();
     }
 }
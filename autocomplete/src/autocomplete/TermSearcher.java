@@ -0,0 +1,24 @@
+package autocomplete;
+
+import arrayutils.ArraySearcher;
+
+/**
+ * An ArraySearcher for Terms that can also find just the heaviest terms matching a prefix.
+ *
+ * By default, the heaviest matches are selected from all of the matches, but searchers that keep
+ * extra information about their terms' weights, like {@link TermTrie}, can override
+ * {@link #findTopMatches} to find them without looking at every match.
+ */
+@FunctionalInterface
+public interface TermSearcher extends ArraySearcher<Term, String> {
+    /**
+     * Returns up to k of the terms matching the prefix, from the heaviest to the lightest.
+     * @throws IllegalArgumentException if prefix is null or k is negative
+     */
+    default Term[] findTopMatches(String prefix, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        return findAllMatches(prefix).topK(k, Term::reverseWeightOrder);
+    }
+}
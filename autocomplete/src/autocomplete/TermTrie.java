@@ -0,0 +1,275 @@
+package autocomplete;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A TermSearcher that finds the terms whose queries start with a prefix, ignoring case, using a
+ * compressed trie over the case-folded queries.
+ *
+ * The terms are kept sorted by case-folded query (then by descending weight), so every trie node
+ * covers a contiguous range of them, and each node stores the largest weight in its range. Finding
+ * the node for a prefix takes time proportional to the prefix length, and {@link #findTopMatches}
+ * then finds the k heaviest matches by expanding the heaviest nodes first, without looking at the
+ * rest of the matching range.
+ *
+ * The trie is stored in parallel arrays indexed by node, with nodes numbered in preorder.
+ *
+ * @see TermSearcher
+ */
+public class TermTrie implements TermSearcher {
+    private static final Comparator<Candidate> HEAVIEST_FIRST = Comparator
+        .comparingLong((Candidate c) -> -c.weight)
+        .thenComparingInt(c -> c.position);
+
+    private final Term[] terms;
+    /** The case-folded query of each term. */
+    private final String[] keys;
+
+    /** The range of terms under each node, which all start with the node's key. */
+    private final int[] nodeStart;
+    private final int[] nodeEnd;
+    /**
+     * The end of the terms whose keys are exactly the node's key. These come first in the node's
+     * range, from the heaviest to the lightest.
+     */
+    private final int[] exactEnd;
+    /** The length of each node's key, which all of its terms share. */
+    private final int[] depth;
+    /** The first child of each node, or -1 if it has none; the others follow via nextSibling. */
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    /** The largest weight of any term under each node. */
+    private final long[] maxWeight;
+
+    /**
+     * Creates a TermTrie for the given array of terms.
+     *
+     * First sorts the array in place. (Assumes that the given array will not be used externally
+     * afterwards.)
+     *
+     * @throws IllegalArgumentException if terms is null or contains null
+     */
+    public static TermTrie forTerms(Term[] terms) {
+        if (terms == null) {
+            throw new IllegalArgumentException();
+        }
+        for (Term term : terms) {
+            if (term == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return new TermTrie(terms);
+    }
+
+    private TermTrie(Term[] terms) {
+        int n = terms.length;
+        String[] folded = new String[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            folded[i] = CaseFolding.fold(terms[i].query());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> folded[i])
+            .thenComparing((i, j) -> terms[i].reverseWeightOrder(terms[j]))
+            .thenComparing((i, j) -> terms[i].queryOrder(terms[j])));
+        this.terms = new Term[n];
+        this.keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            this.terms[i] = terms[order[i]];
+            this.keys[i] = folded[order[i]];
+        }
+        System.arraycopy(this.terms, 0, terms, 0, n);
+
+        // a compressed trie has at most one node per term, plus one per branch
+        int maxNodes = Math.max(1, 2 * n);
+        this.nodeStart = new int[maxNodes];
+        this.nodeEnd = new int[maxNodes];
+        this.exactEnd = new int[maxNodes];
+        this.depth = new int[maxNodes];
+        this.firstChild = new int[maxNodes];
+        this.nextSibling = new int[maxNodes];
+        this.maxWeight = new long[maxNodes];
+        if (n > 0) {
+            buildNode(0, 0, n);
+        }
+    }
+
+    /**
+     * Fills in the given node for the terms in the given range, which must share a key prefix that
+     * none of the terms outside the range have, followed by its subtree. Returns the next unused node.
+     */
+    private int buildNode(int node, int start, int end) {
+        // the keys are sorted, so the first and last keys have the shortest common prefix
+        int nodeDepth = commonPrefixLength(keys[start], keys[end - 1]);
+        int exact = start;
+        long weight = Long.MIN_VALUE;
+        if (keys[start].length() == nodeDepth) {
+            weight = terms[start].weight();
+            while (exact < end && keys[exact].length() == nodeDepth) {
+                exact++;
+            }
+        }
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+        exactEnd[node] = exact;
+        depth[node] = nodeDepth;
+        firstChild[node] = -1;
+        nextSibling[node] = -1;
+
+        int nextNode = node + 1;
+        int previousChild = -1;
+        for (int childStart = exact; childStart < end; ) {
+            char c = keys[childStart].charAt(nodeDepth);
+            int childEnd = childStart + 1;
+            while (childEnd < end && keys[childEnd].charAt(nodeDepth) == c) {
+                childEnd++;
+            }
+            int child = nextNode;
+            nextNode = buildNode(child, childStart, childEnd);
+            if (previousChild == -1) {
+                firstChild[node] = child;
+            } else {
+                nextSibling[previousChild] = child;
+            }
+            previousChild = child;
+            weight = Math.max(weight, maxWeight[child]);
+            childStart = childEnd;
+        }
+        maxWeight[node] = weight;
+        return nextNode;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public MatchResult findAllMatches(String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException();
+        }
+        int node = findNode(CaseFolding.fold(prefix));
+        return new MatchResult(node);
+    }
+
+    /** Finds the heaviest matches by expanding the heaviest trie nodes first. */
+    @Override
+    public Term[] findTopMatches(String prefix, int k) {
+        return findAllMatches(prefix).top(k);
+    }
+
+    /** Returns the highest node whose terms all start with the given key, or -1 if there is none. */
+    private int findNode(String key) {
+        if (terms.length == 0) {
+            return -1;
+        }
+        // follow only the character that each node branches on, and check the rest of the key once
+        // at the end, since every term under a node shares the same key prefix
+        int node = 0;
+        while (depth[node] < key.length()) {
+            char c = key.charAt(depth[node]);
+            int child = firstChild[node];
+            while (child != -1 && keys[nodeStart[child]].charAt(depth[node]) != c) {
+                child = nextSibling[child];
+            }
+            if (child == -1) {
+                return -1;
+            }
+            node = child;
+        }
+        return keys[nodeStart[node]].startsWith(key) ? node : -1;
+    }
+
+    /** A node or term waiting to be expanded during a top-k search. */
+    private static class Candidate {
+        final long weight;
+        /** The position of the term, or of the first term under the node. */
+        final int position;
+        /** The node, or -1 for a term. */
+        final int node;
+        /** For a term, the end of the terms with the same key. */
+        final int end;
+
+        Candidate(long weight, int position, int node, int end) {
+            this.weight = weight;
+            this.position = position;
+            this.node = node;
+            this.end = end;
+        }
+    }
+
+    public class MatchResult extends AbstractMatchResult<Term> {
+        private final int node;
+
+        private MatchResult(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public int count() {
+            return node == -1 ? 0 : nodeEnd[node] - nodeStart[node];
+        }
+
+        @Override
+        public Term[] unsorted() {
+            if (node == -1) {
+                return new Term[0];
+            }
+            return Arrays.copyOfRange(terms, nodeStart[node], nodeEnd[node]);
+        }
+
+        /** Selects straight from the matching range of the trie's terms, without copying it. */
+        @Override
+        public Term[] topK(int k, Comparator<Term> comparator) {
+            if (node == -1) {
+                return topK(terms, 0, 0, k, comparator);
+            }
+            return topK(terms, nodeStart[node], nodeEnd[node], k, comparator);
+        }
+
+        /**
+         * Returns up to k of the matching terms with the largest weights, from the heaviest to the
+         * lightest. Terms with equal weights are ordered by case-folded query.
+         * @throws IllegalArgumentException if k is negative
+         */
+        public Term[] top(int k) {
+            if (k < 0) {
+                throw new IllegalArgumentException("k must not be negative: " + k);
+            }
+            Term[] result = new Term[Math.min(k, count())];
+            if (result.length == 0) {
+                return result;
+            }
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>(HEAVIEST_FIRST);
+            candidates.add(new Candidate(maxWeight[node], nodeStart[node], node, 0));
+            int found = 0;
+            while (found < result.length) {
+                Candidate next = candidates.remove();
+                if (next.node == -1) {
+                    result[found++] = terms[next.position];
+                    if (next.position + 1 < next.end) {
+                        int position = next.position + 1;
+                        candidates.add(new Candidate(terms[position].weight(), position, -1, next.end));
+                    }
+                    continue;
+                }
+                int n = next.node;
+                if (exactEnd[n] > nodeStart[n]) {
+                    candidates.add(new Candidate(terms[nodeStart[n]].weight(), nodeStart[n], -1, exactEnd[n]));
+                }
+                for (int child = firstChild[n]; child != -1; child = nextSibling[child]) {
+                    candidates.add(new Candidate(maxWeight[child], nodeStart[child], child, 0));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -106,6 +106,28 @@ public abstract class AbstractArraySearcherTests extends BaseTest {
         assertThat(sorted).containsExactly("cat", "cyan", "cypher", "cannons");
     }
 
+    @Test
+    void topKByStringLength_returnsStartOfSortedMatches() {
+        ArraySearcher<String, String> brs = createStringArraySearcher(
+                "abc", "balloon",
+                "cannons", "cat", "cypher", "cyan", "cab",
+                "dolphin", "dexterity");
+        ArraySearcher.AbstractMatchResult<String> result = brs.findAllMatches("c");
+        // equal lengths keep the order sortedBy would give them
+        String[] sorted = result.sortedBy(Comparator.comparing(String::length));
+        assertThat(result.topK(3, Comparator.comparing(String::length)))
+                .containsExactly(Arrays.copyOf(sorted, 3));
+        assertThat(result.topK(10, Comparator.comparing(String::length))).containsExactly(sorted);
+        assertThat(result.topK(0, Comparator.comparing(String::length))).isEmpty();
+    }
+
+    @Test
+    void topKWithNegativeK_throwsIllegalArgument() {
+        ArraySearcher<String, String> brs = createStringArraySearcher("a", "b");
+        assertThatThrownBy(() -> brs.findAllMatches("a").topK(-1, Comparator.naturalOrder()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void findAllMatchesIn_arrayOfLength2WithNoMatches_returnsEmptyArrayForAnyCombinationOfLesserAndGreaterItems() {
         ArraySearcher<String, String> searcher = createStringArraySearcher("10", "15");
@@ -4,6 +4,8 @@ import edu.washington.cse373.BaseTest;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.Locale;
+
 /**
  * These unit tests are fairly comprehensive, but feel free to add your own.
  */
@@ -179,10 +181,58 @@ public class DefaultTermTests extends BaseTest {
             assertThat(term.matchesPrefix("thing")).isLessThan(0);
         }
 
+        @Test
+        void prefixMatchesIgnoringCase_returns0() {
+            Term term = createTerm("SomeThing", 7);
+            assertThat(term.matchesPrefix("sOMEt")).isEqualTo(0);
+        }
+
+        @Test
+        void prefixMatchesWithGreaterStringInOtherCase_returnsNegative() {
+            Term term = createTerm("something", 7);
+            assertThat(term.matchesPrefix("SOMEWHERE")).isLessThan(0);
+        }
+
         @Test
         void prefixMatchesWhereThisIsPrefixOfInput_returnsNegative() {
             Term term = createTerm("something", 7);
             assertThat(term.matchesPrefix("somethingelse")).isLessThan(0);
         }
+
+        @Test
+        void prefixMatchesWithNonAsciiPrefixInAnyCase_returns0() {
+            Term term = createTerm("İstanbul", 7);
+            assertThat(term.matchesPrefix("İs")).isEqualTo(0);
+            assertThat(term.matchesPrefix("is")).isEqualTo(0);
+            assertThat(term.matchesPrefix("IS")).isEqualTo(0);
+        }
+
+        @Test
+        void prefixMatchesInTurkishLocale_ignoresDefaultLocale() {
+            Locale defaultLocale = Locale.getDefault();
+            try {
+                Locale.setDefault(new Locale("tr"));
+                Term term = createTerm("Istanbul", 7);
+                assertThat(term.matchesPrefix("I")).isEqualTo(0);
+                assertThat(term.matchesPrefix("i")).isEqualTo(0);
+            } finally {
+                Locale.setDefault(defaultLocale);
+            }
+        }
+
+        @Test
+        void prefixMatchesWithNonAsciiMismatch_agreesWithCompareToIgnoreCase() {
+            String[] queries = {"Éclair", "éclair", "İstanbul", "straße", "Σοφία"};
+            String[] prefixes = {"E", "Ê", "J", "ız", "STRASSE", "σπ", "ü"};
+            for (String query : queries) {
+                Term term = createTerm(query, 7);
+                for (String prefix : prefixes) {
+                    String queryStart = query.substring(0, Math.min(query.length(), prefix.length()));
+                    assertThat(Integer.signum(term.matchesPrefix(prefix)))
+                        .as("%s vs %s", query, prefix)
+                        .isEqualTo(Integer.signum(queryStart.compareToIgnoreCase(prefix)));
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,139 @@
+package autocomplete;
+
+import arrayutils.LinearSearcher;
+import edu.washington.cse373.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class TermTrieTests extends BaseTest {
+
+    private static Term[] terms(Object... queriesAndWeights) {
+        Term[] terms = new Term[queriesAndWeights.length / 2];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = new DefaultTerm((String) queriesAndWeights[2 * i], (Integer) queriesAndWeights[2 * i + 1]);
+        }
+        return terms;
+    }
+
+    @Test
+    void findAllMatches_ignoresCase() {
+        Term[] terms = terms("c", 2, "ca", 0, "Cab", 5, "cat", 1, "dog", 3);
+        TermTrie trie = TermTrie.forTerms(terms.clone());
+
+        assertThat(trie.findAllMatches("CA").unsorted())
+            .containsExactlyInAnyOrder(terms[1], terms[2], terms[3]);
+        assertThat(trie.findAllMatches("").count()).isEqualTo(5);
+        assertThat(trie.findAllMatches("cb").unsorted()).isEmpty();
+        assertThat(trie.findAllMatches("cats").unsorted()).isEmpty();
+    }
+
+    @Test
+    void findAllMatches_withNonAsciiQueriesInTurkishLocale_matchesLinearSearcher() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr"));
+            Term[] terms = terms("İstanbul", 4, "Istanbul", 3, "istanbul", 2, "ıspanak", 1,
+                                 "Éclair", 5, "éclair", 6);
+            TermTrie trie = TermTrie.forTerms(terms.clone());
+            LinearSearcher<Term, String> searcher = LinearSearcher.forArray(terms.clone(), Term::matchesPrefix);
+
+            for (String prefix : List.of("I", "i", "İ", "ı", "IS", "İst", "ısp", "É", "e", "ECL", "x")) {
+                assertThat(trie.findAllMatches(prefix).unsorted())
+                    .as(prefix)
+                    .containsExactlyInAnyOrder(searcher.findAllMatches(prefix).unsorted());
+            }
+            assertThat(trie.findAllMatches("I").unsorted()).hasSize(4);
+            assertThat(trie.findAllMatches("É").unsorted()).containsExactlyInAnyOrder(terms[4], terms[5]);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void top_returnsHeaviestMatchesInOrder() {
+        Term[] terms = terms("c", 2, "ca", 0, "Cab", 5, "cat", 1, "cat", 4, "dog", 3);
+        TermTrie trie = TermTrie.forTerms(terms.clone());
+
+        assertThat(trie.findAllMatches("ca").top(3)).containsExactly(terms[2], terms[4], terms[3]);
+        assertThat(trie.findAllMatches("c").top(10)).containsExactly(terms[2], terms[4], terms[0], terms[3], terms[1]);
+        assertThat(trie.findAllMatches("ca").top(0)).isEmpty();
+        assertThat(trie.findAllMatches("x").top(5)).isEmpty();
+    }
+
+    @Test
+    void top_withNegativeK_throwsIllegalArgument() {
+        TermTrie trie = TermTrie.forTerms(terms("a", 1));
+        assertThatThrownBy(() -> trie.findAllMatches("a").top(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> trie.findTopMatches("a", -1)).isInstanceOf(IllegalArgumentException.class);
+        TermSearcher linear = LinearSearcher.forArray(terms("a", 1), Term::matchesPrefix)::findAllMatches;
+        assertThatThrownBy(() -> linear.findTopMatches("a", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructWithNullArrayOrItems_throwsIllegalArgument() {
+        assertThatThrownBy(() -> TermTrie.forTerms(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TermTrie.forTerms(new Term[]{null})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findAllMatchesIn_emptyArray_returnsNoMatches() {
+        TermTrie trie = TermTrie.forTerms(new Term[0]);
+        assertThat(trie.findAllMatches("").unsorted()).isEmpty();
+        assertThat(trie.findAllMatches("a").top(3)).isEmpty();
+        assertThatThrownBy(() -> trie.findAllMatches(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findAllMatches_withRandomTerms_matchesLinearSearcher() {
+        Random random = new Random(373);
+        Term[] terms = new Term[2000];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = new DefaultTerm(randomQuery(random), random.nextInt(1000));
+        }
+        TermTrie trie = TermTrie.forTerms(terms.clone());
+        LinearSearcher<Term, String> searcher = LinearSearcher.forArray(terms.clone(), Term::matchesPrefix);
+        // the default selection, which the trie's findTopMatches overrides
+        TermSearcher linear = searcher::findAllMatches;
+
+        List<String> prefixes = new ArrayList<>(List.of("", "a", "B", "ab", "Bca", "zz"));
+        for (int i = 0; i < 200; i++) {
+            String query = randomQuery(random);
+            prefixes.add(query.substring(0, random.nextInt(query.length() + 1)));
+        }
+        for (String prefix : prefixes) {
+            Term[] expected = searcher.findAllMatches(prefix).sortedBy(Term::reverseWeightOrder);
+            TermTrie.MatchResult matches = trie.findAllMatches(prefix);
+            assertThat(matches.unsorted()).containsExactlyInAnyOrder(expected);
+            assertThat(matches.topK(5, Term::queryOrder))
+                .containsExactly(Arrays.copyOf(matches.sortedBy(Term::queryOrder), Math.min(5, expected.length)));
+
+            // ties may be broken differently, so compare the weights of the heaviest matches
+            Term[] top = matches.top(10);
+            List<Long> expectedWeights = Arrays.stream(expected).limit(10).map(Term::weight)
+                .collect(Collectors.toList());
+            assertThat(Arrays.stream(top).map(Term::weight).collect(Collectors.toList()))
+                .containsExactlyElementsOf(expectedWeights);
+            assertThat(Arrays.stream(trie.findTopMatches(prefix, 10)).map(Term::weight).collect(Collectors.toList()))
+                .containsExactlyElementsOf(expectedWeights);
+            assertThat(Arrays.stream(linear.findTopMatches(prefix, 10)).map(Term::weight).collect(Collectors.toList()))
+                .containsExactlyElementsOf(expectedWeights);
+        }
+    }
+
+    /** Returns a short query from a small alphabet, in mixed case, so that many queries share prefixes. */
+    private static String randomQuery(Random random) {
+        StringBuilder query = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(3));
+            query.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return query.toString();
+    }
+}
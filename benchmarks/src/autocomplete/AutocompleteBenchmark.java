@@ -0,0 +1,73 @@
+package autocomplete;
+
+import arrayutils.BinaryRangeSearcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times prefix searches on the cities data used by the Autocomplete console program, for prefixes
+ * ranging from very common (many matches to sort) to very specific.
+ *
+ * The top-10 benchmarks compare the trie's best-first search with sorting every match from the
+ * binary range searcher, as a suggestion list showing only a few results would do. The binary range
+ * benchmark times only finding the range of matches, which calls DefaultTerm.matchesPrefix on each
+ * probe and so shows the cost of comparing terms with prefixes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AutocompleteBenchmark {
+    @Param({"S", "San", "Seattle", "Seattle, Washington"})
+    public String prefix;
+
+    private Autocomplete autocomplete;
+    private Autocomplete binaryRangeAutocomplete;
+    private BinaryRangeSearcher<Term, String> binaryRangeSearcher;
+
+    @Setup
+    public void setUp() {
+        autocomplete = Autocomplete.loadFromFile(Autocomplete.FILENAME);
+        binaryRangeAutocomplete = Autocomplete.loadFromFile(Autocomplete.FILENAME, DefaultTerm::new,
+                                                            Autocomplete::withBinaryRangeSearcher);
+        Autocomplete.loadFromFile(Autocomplete.FILENAME, DefaultTerm::new, terms -> {
+            // sort ignoring case, the same way matchesPrefix compares, so the matches are contiguous
+            binaryRangeSearcher = BinaryRangeSearcher.forUnsortedArray(
+                terms, (a, b) -> a.query().compareToIgnoreCase(b.query()), Term::matchesPrefix);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public Term[] findMatchesForPrefix() {
+        return autocomplete.findMatchesForPrefix(prefix);
+    }
+
+    @Benchmark
+    public int findAllMatchesBinaryRange() {
+        return binaryRangeSearcher.findAllMatches(prefix).count();
+    }
+
+    @Benchmark
+    public Term[] findTop10MatchesForPrefix() {
+        return autocomplete.findTopMatchesForPrefix(prefix, 10);
+    }
+
+    @Benchmark
+    public Term[] findTop10MatchesForPrefixBinaryRange() {
+        return binaryRangeAutocomplete.findTopMatchesForPrefix(prefix, 10);
+    }
+}
@@ -0,0 +1,43 @@
+package huskymaps;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the request fixtures in huskymaps/data for use as benchmark workloads.
+ */
+public class BenchmarkData {
+    /** The huskymaps test data, relative to the root project (the jmh task's working directory). */
+    public static final Path DATA_ROOT = Path.of("huskymaps", "data");
+    public static final Path ROUTER_FILES_DIR = DATA_ROOT.resolve("router");
+    public static final Path RASTERER_FILES_DIR = DATA_ROOT.resolve("rasterer");
+    private static final String REQUEST_FORMAT = "request%d.json";
+    private static final int NUM_REQUESTS = 10;
+
+    private static final Gson GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+
+    /** Returns every request in the given fixture directory, parsed as the given type. */
+    public static <T> List<T> loadRequests(Path dir, Class<T> type) {
+        List<T> requests = new ArrayList<>();
+        for (int i = 0; i < NUM_REQUESTS; i += 1) {
+            Path file = dir.resolve(String.format(REQUEST_FORMAT, i));
+            try (Reader reader = new FileReader(file.toFile())) {
+                requests.add(GSON.fromJson(reader, type));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + file, e);
+            }
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,69 @@
+package huskymaps.graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static huskymaps.BenchmarkData.DATA_ROOT;
+import static huskymaps.utils.Constants.OSM_GZ_RESOURCE_NAME;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+/**
+ * Times OSMGraphLoader.populateGraph, which dominates MapServer's startup time, against
+ * PipelinedOSMGraphLoader and against reading a snapshot. Since loading is a one-time cost, each
+ * iteration loads the graph once instead of averaging over many calls.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphLoadingBenchmark {
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        snapshot = Files.createTempFile("seattle", ".snapshot");
+        StreetMapGraph graph = StreetMapGraph.fromResourcesPipelined(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+        GraphSnapshot.write(CompactStreetMapGraph.fromGraph(graph), snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public StreetMapGraph loadSeattle() {
+        return StreetMapGraph.fromResources(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+    }
+
+    @Benchmark
+    public StreetMapGraph loadSeattlePipelined() {
+        return StreetMapGraph.fromResourcesPipelined(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+    }
+
+    @Benchmark
+    public StreetMapGraph loadSeattleSnapshot() {
+        return StreetMapGraph.fromSnapshot(snapshot.toFile());
+    }
+
+    @Benchmark
+    public StreetMapGraph loadTiny() {
+        return StreetMapGraph.fromFileAndResource(DATA_ROOT.resolve("tiny.osm.gz").toFile(), PLACES_RESOURCE_NAME);
+    }
+}
@@ -0,0 +1,62 @@
+package huskymaps.handlers.rastering;
+
+import huskymaps.graph.Coordinate;
+import huskymaps.rastering.DefaultRasterer;
+import huskymaps.rastering.Rasterer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static huskymaps.BenchmarkData.RASTERER_FILES_DIR;
+import static huskymaps.BenchmarkData.loadRequests;
+
+/**
+ * Times the raster requests in huskymaps/data/rasterer, both for choosing tiles alone and for the
+ * whole request as RasterAPIHandler handles it (reading tiles, drawing them, and encoding the PNG).
+ * Each benchmark operation answers all of the requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RasterBenchmark {
+    private Rasterer rasterer;
+    private RasterAPIHandler handler;
+    private List<RasterRequest> requests;
+
+    @Setup
+    public void setUp() {
+        rasterer = new DefaultRasterer();
+        handler = new RasterAPIHandler(rasterer);
+        requests = loadRequests(RASTERER_FILES_DIR, RasterRequest.class);
+    }
+
+    @Benchmark
+    public void rasterizeMap(Blackhole bh) {
+        for (RasterRequest request : requests) {
+            Coordinate ul = new Coordinate(request.ullat, request.ullon);
+            Coordinate lr = new Coordinate(request.lrlat, request.lrlon);
+            bh.consume(rasterer.rasterizeMap(ul, lr, request.depth));
+        }
+    }
+
+    @Benchmark
+    public void processRequest(Blackhole bh) {
+        for (RasterRequest request : requests) {
+            bh.consume(handler.processRequest(request, null));
+        }
+    }
+}
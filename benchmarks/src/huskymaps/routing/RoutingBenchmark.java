@@ -0,0 +1,141 @@
+package huskymaps.routing;
+
+import graphpathfinding.AStarPathFinder;
+import graphpathfinding.BidirectionalAStarPathFinder;
+import graphpathfinding.ContractionHierarchy;
+import graphpathfinding.ContractionHierarchyPathFinder;
+import graphpathfinding.IndexedAStarPathFinder;
+import graphpathfinding.ShortestPathFinder;
+import huskymaps.graph.CompactStreetMapGraph;
+import huskymaps.graph.Coordinate;
+import huskymaps.graph.Node;
+import huskymaps.graph.StreetMapGraph;
+import huskymaps.handlers.routing.RouteRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static huskymaps.BenchmarkData.ROUTER_FILES_DIR;
+import static huskymaps.BenchmarkData.loadRequests;
+import static huskymaps.utils.Constants.OSM_GZ_RESOURCE_NAME;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+/**
+ * Times shortest path searches for the route requests in huskymaps/data/router on the Seattle
+ * graph. Each benchmark operation answers all of the requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RoutingBenchmark {
+    private static final Duration TIMEOUT = Duration.ofSeconds(90);
+
+    private StreetMapGraph graph;
+    private DefaultRouter router;
+    private ShortestPathFinder<Node> aStarPathFinder;
+    private ShortestPathFinder<Node> bidirectionalPathFinder;
+    private ShortestPathFinder<Node> indexedPathFinder;
+    private ShortestPathFinder<Node> hierarchyPathFinder;
+    private Coordinate[] startCoordinates;
+    private Coordinate[] endCoordinates;
+    private Node[] starts;
+    private Node[] ends;
+
+    @Setup
+    public void setUp() {
+        graph = StreetMapGraph.fromResources(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+        router = new DefaultRouter(graph);
+        aStarPathFinder = new AStarPathFinder<>(graph);
+        bidirectionalPathFinder = new BidirectionalAStarPathFinder<>(graph);
+        CompactStreetMapGraph compact = CompactStreetMapGraph.fromGraph(graph);
+        indexedPathFinder = new IndexedAStarPathFinder<>(compact);
+        hierarchyPathFinder = new ContractionHierarchyPathFinder<>(ContractionHierarchy.build(compact));
+
+        List<RouteRequest> requests = loadRequests(ROUTER_FILES_DIR, RouteRequest.class);
+        int n = requests.size();
+        startCoordinates = new Coordinate[n];
+        endCoordinates = new Coordinate[n];
+        starts = new Node[n];
+        ends = new Node[n];
+        for (int i = 0; i < n; i += 1) {
+            RouteRequest request = requests.get(i);
+            startCoordinates[i] = new Coordinate(request.startLat, request.startLon);
+            endCoordinates[i] = new Coordinate(request.endLat, request.endLon);
+            starts[i] = router.closest(startCoordinates[i]);
+            ends[i] = router.closest(endCoordinates[i]);
+        }
+    }
+
+    /** The hash map-based search on the original graph, with a new path finder for each search. */
+    @Benchmark
+    public void aStarPathFinder(Blackhole bh) {
+        for (int i = 0; i < starts.length; i += 1) {
+            bh.consume(new AStarPathFinder<>(graph).findShortestPath(starts[i], ends[i], TIMEOUT));
+        }
+    }
+
+    /** The hash map-based search on the original graph, reusing one path finder's workspace. */
+    @Benchmark
+    public void reusedAStarPathFinder(Blackhole bh) {
+        for (int i = 0; i < starts.length; i += 1) {
+            bh.consume(aStarPathFinder.findShortestPath(starts[i], ends[i], TIMEOUT));
+        }
+    }
+
+    /** The hash map-based search from both ends at once, on the original graph. */
+    @Benchmark
+    public void bidirectionalAStarPathFinder(Blackhole bh) {
+        for (int i = 0; i < starts.length; i += 1) {
+            bh.consume(bidirectionalPathFinder.findShortestPath(starts[i], ends[i], TIMEOUT));
+        }
+    }
+
+    /** The array-based search, on a compact copy of the graph. */
+    @Benchmark
+    public void indexedAStarPathFinder(Blackhole bh) {
+        for (int i = 0; i < starts.length; i += 1) {
+            bh.consume(indexedPathFinder.findShortestPath(starts[i], ends[i], TIMEOUT));
+        }
+    }
+
+    /** The bidirectional search on a contraction hierarchy of the compact graph. */
+    @Benchmark
+    public void contractionHierarchyPathFinder(Blackhole bh) {
+        for (int i = 0; i < starts.length; i += 1) {
+            bh.consume(hierarchyPathFinder.findShortestPath(starts[i], ends[i], TIMEOUT));
+        }
+    }
+
+    /** The whole route request as MapServer handles it, including snapping and directions. */
+    @Benchmark
+    public void defaultRouter(Blackhole bh) {
+        for (int i = 0; i < startCoordinates.length; i += 1) {
+            List<Node> route = router.shortestPath(startCoordinates[i], endCoordinates[i]);
+            bh.consume(router.routeDirections(route));
+        }
+    }
+
+    /** Snapping both endpoints of each request to the nearest road. */
+    @Benchmark
+    public void closest(Blackhole bh) {
+        for (int i = 0; i < startCoordinates.length; i += 1) {
+            bh.consume(router.closest(startCoordinates[i]));
+            bh.consume(router.closest(endCoordinates[i]));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package pointsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares nearest neighbor queries on NaivePointSet, KDTreePointSet, and WeirdPointSet. Each
+ * benchmark operation answers the same batch of random queries against the same random points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PointSetBenchmark {
+    private static final int NUM_QUERIES = 1000;
+    private static final double RANGE = 10000;
+    private static final long SEED = 373;
+
+    @Param({"1000", "100000"})
+    public int numPoints;
+
+    private PointSet<Point> naivePointSet;
+    private PointSet<Point> kdTreePointSet;
+    private PointSet<Point> weirdPointSet;
+    private Point[] queries;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < numPoints; i += 1) {
+            points.add(randomPoint(random));
+        }
+        queries = new Point[NUM_QUERIES];
+        for (int i = 0; i < NUM_QUERIES; i += 1) {
+            queries[i] = randomPoint(random);
+        }
+        // each point set gets its own copy, since some of them reorder the list they're given
+        naivePointSet = new NaivePointSet<>(new ArrayList<>(points));
+        kdTreePointSet = KDTreePointSet.createAfterShuffling(new ArrayList<>(points));
+        weirdPointSet = new WeirdPointSet<>(new ArrayList<>(points));
+    }
+
+    private static Point randomPoint(Random random) {
+        return new Point(random.nextDouble() * RANGE, random.nextDouble() * RANGE);
+    }
+
+    @Benchmark
+    public void naivePointSet(Blackhole bh) {
+        nearestAll(naivePointSet, bh);
+    }
+
+    @Benchmark
+    public void kdTreePointSet(Blackhole bh) {
+        nearestAll(kdTreePointSet, bh);
+    }
+
+    @Benchmark
+    public void weirdPointSet(Blackhole bh) {
+        nearestAll(weirdPointSet, bh);
+    }
+
+    private void nearestAll(PointSet<Point> pointSet, Blackhole bh) {
+        for (Point query : queries) {
+            bh.consume(pointSet.nearest(query));
+        }
+    }
+}
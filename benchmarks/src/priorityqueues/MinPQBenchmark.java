@@ -0,0 +1,149 @@
+package priorityqueues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ArrayHeapMinPQ, DoubleMapMinPQ, and IndexedIntMinPQ on a workload shaped like a
+ * shortest path search: keys are added in batches, some of their priorities are decreased, and the
+ * minimum is removed after each batch. The same random operations are replayed against each PQ.
+ *
+ * The ExtrinsicMinPQs are driven through their Integer interface, and IndexedIntMinPQ through its
+ * int methods, so the comparison includes the boxing that the primitive PQ avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MinPQBenchmark {
+    private static final int NUM_KEYS = 1_000_000;
+    private static final int BATCH_SIZE = 3;
+    private static final long SEED = 373;
+
+    @Param({"ArrayHeapMinPQ", "DoubleMapMinPQ", "IndexedIntMinPQ2", "IndexedIntMinPQ4"})
+    public String pq;
+
+    /** The operations the workload needs, so one workload can drive every kind of PQ. */
+    private interface IntKeyedMinPQ {
+        void add(int key, double priority);
+        boolean contains(int key);
+        void changePriority(int key, double priority);
+        int removeMin();
+        boolean isEmpty();
+    }
+
+    @Setup
+    public void setUp() {
+        // check the name now, so a typo fails before anything is timed
+        createPQ();
+    }
+
+    private IntKeyedMinPQ createPQ() {
+        switch (pq) {
+            case "ArrayHeapMinPQ":
+                return boxed(new ArrayHeapMinPQ<>());
+            case "DoubleMapMinPQ":
+                return boxed(new DoubleMapMinPQ<>());
+            case "IndexedIntMinPQ2":
+                return primitive(new IndexedIntMinPQ(2, NUM_KEYS));
+            case "IndexedIntMinPQ4":
+                return primitive(new IndexedIntMinPQ(4, NUM_KEYS));
+            default:
+                throw new IllegalArgumentException("Unknown PQ: " + pq);
+        }
+    }
+
+    private static IntKeyedMinPQ boxed(ExtrinsicMinPQ<Integer> pq) {
+        return new IntKeyedMinPQ() {
+            @Override
+            public void add(int key, double priority) {
+                pq.add(key, priority);
+            }
+
+            @Override
+            public boolean contains(int key) {
+                return pq.contains(key);
+            }
+
+            @Override
+            public void changePriority(int key, double priority) {
+                pq.changePriority(key, priority);
+            }
+
+            @Override
+            public int removeMin() {
+                return pq.removeMin();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return pq.isEmpty();
+            }
+        };
+    }
+
+    private static IntKeyedMinPQ primitive(IndexedIntMinPQ pq) {
+        return new IntKeyedMinPQ() {
+            @Override
+            public void add(int key, double priority) {
+                pq.add(key, priority);
+            }
+
+            @Override
+            public boolean contains(int key) {
+                return pq.contains(key);
+            }
+
+            @Override
+            public void changePriority(int key, double priority) {
+                pq.changePriority(key, priority);
+            }
+
+            @Override
+            public int removeMin() {
+                return pq.removeMin();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return pq.isEmpty();
+            }
+        };
+    }
+
+    @Benchmark
+    public long searchWorkload() {
+        IntKeyedMinPQ minPQ = createPQ();
+        Random random = new Random(SEED);
+        double[] priorities = new double[NUM_KEYS];
+        long checksum = 0;
+        int next = 0;
+        while (next < NUM_KEYS || !minPQ.isEmpty()) {
+            for (int i = 0; i < BATCH_SIZE && next < NUM_KEYS; i += 1, next += 1) {
+                priorities[next] = random.nextDouble() * NUM_KEYS;
+                minPQ.add(next, priorities[next]);
+            }
+            int key = random.nextInt(Math.max(next, 1));
+            if (minPQ.contains(key)) {
+                priorities[key] /= 2;
+                minPQ.changePriority(key, priorities[key]);
+            }
+            checksum += minPQ.removeMin();
+        }
+        return checksum;
+    }
+}
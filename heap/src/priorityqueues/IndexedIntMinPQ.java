@@ -0,0 +1,233 @@
+package priorityqueues;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A min priority queue of non-negative int keys, stored as an indexed d-ary heap.
+ *
+ * The heap itself is a pair of parallel arrays holding each entry's key and priority, and a third
+ * array maps each key to its position in the heap. Since keys are used directly as array indices,
+ * no operation hashes or allocates objects (except when an array needs to grow), which makes this
+ * much faster than {@link ArrayHeapMinPQ} for keys that are small, dense ints such as vertex
+ * indices. Memory use is proportional to the largest key ever added, not to the number of keys
+ * currently in the queue.
+ *
+ * Use {@link IndexedIntMinPQAdapter} if an {@link ExtrinsicMinPQ} is needed.
+ */
+public class IndexedIntMinPQ {
+    static final int START_INDEX = 0;
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    /** heapKeys[i] and heapPriorities[i] are the key and priority of the i-th heap entry. */
+    int[] heapKeys;
+    double[] heapPriorities;
+    /** positions[key] is the heap position of the given key, or ABSENT if it is not in the PQ. */
+    private int[] positions;
+    private int size;
+
+    /**
+     * Creates an empty 4-ary heap.
+     */
+    public IndexedIntMinPQ() {
+        this(DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty heap where each entry has up to the given number of children, with room for
+     * keys from 0 to keyCapacity - 1 before any arrays need to grow.
+     *
+     * Arities of 2 and 4 are the usual choices: a 4-ary heap is shallower, so it does less work when
+     * adding items and changing priorities, at the cost of more comparisons per level when removing.
+     *
+     * @throws IllegalArgumentException if arity is less than 2 or keyCapacity is negative
+     */
+    public IndexedIntMinPQ(int arity, int keyCapacity) {
+        if (arity < 2 || keyCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.arity = arity;
+        int capacity = Math.max(keyCapacity, 1);
+        this.heapKeys = new int[capacity];
+        this.heapPriorities = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+        this.size = 0;
+    }
+
+    /**
+     * Adds a key with the given priority value.
+     * Runs in O(log N) time (except when resizing).
+     * @throws IllegalArgumentException if key is negative or is already present in the PQ
+     */
+    public void add(int key, double priority) {
+        if (key < 0 || contains(key)) {
+            throw new IllegalArgumentException();
+        }
+        if (key >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(key + 1, 2 * oldLength));
+            Arrays.fill(positions, oldLength, positions.length, ABSENT);
+        }
+        if (size == heapKeys.length) {
+            heapKeys = Arrays.copyOf(heapKeys, 2 * size);
+            heapPriorities = Arrays.copyOf(heapPriorities, 2 * size);
+        }
+        percolateUp(size, key, priority);
+        size++;
+    }
+
+    /**
+     * Returns true if the PQ contains the given key; false otherwise.
+     * Runs in O(1) time.
+     */
+    public boolean contains(int key) {
+        return key >= 0 && key < positions.length && positions[key] != ABSENT;
+    }
+
+    /**
+     * Returns the key with the least-valued priority.
+     * Runs in O(1) time.
+     * @throws NoSuchElementException if the PQ is empty
+     */
+    public int peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return heapKeys[START_INDEX];
+    }
+
+    /**
+     * Returns the least priority value in the PQ.
+     * Runs in O(1) time.
+     * @throws NoSuchElementException if the PQ is empty
+     */
+    public double peekMinPriority() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return heapPriorities[START_INDEX];
+    }
+
+    /**
+     * Removes and returns the key with the least-valued priority.
+     * Runs in O(log N) time.
+     * @throws NoSuchElementException if the PQ is empty
+     */
+    public int removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        int result = heapKeys[START_INDEX];
+        positions[result] = ABSENT;
+        size--;
+        if (size > START_INDEX) {
+            percolateDown(START_INDEX, heapKeys[size], heapPriorities[size]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the priority of the given key.
+     * Runs in O(1) time.
+     * @throws NoSuchElementException if the key is not present in the PQ
+     */
+    public double priority(int key) {
+        if (!contains(key)) {
+            throw new NoSuchElementException();
+        }
+        return heapPriorities[positions[key]];
+    }
+
+    /**
+     * Changes the priority of the given key.
+     * Runs in O(log N) time.
+     * @throws NoSuchElementException if the key is not present in the PQ
+     */
+    public void changePriority(int key, double priority) {
+        if (!contains(key)) {
+            throw new NoSuchElementException();
+        }
+        int index = positions[key];
+        if (priority < heapPriorities[index]) {
+            percolateUp(index, key, priority);
+        } else {
+            percolateDown(index, key, priority);
+        }
+    }
+
+    /**
+     * Removes all keys from the PQ, keeping its arrays for reuse.
+     * Runs in O(N) time, where N is the number of keys in the PQ.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heapKeys[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of keys in the PQ.
+     * Runs in O(1) time.
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Returns true if the PQ is empty; false otherwise. */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Moves the given entry up from the hole at the given position until its parent is no greater,
+     * shifting parents down into the hole along the way instead of swapping.
+     */
+    private void percolateUp(int hole, int key, double priority) {
+        while (hole > START_INDEX) {
+            int parent = (hole - 1) / arity;
+            if (heapPriorities[parent] <= priority) {
+                break;
+            }
+            place(hole, heapKeys[parent], heapPriorities[parent]);
+            hole = parent;
+        }
+        place(hole, key, priority);
+    }
+
+    /**
+     * Moves the given entry down from the hole at the given position until none of its children
+     * are smaller, shifting the smallest child up into the hole along the way instead of swapping.
+     */
+    private void percolateDown(int hole, int key, double priority) {
+        while (true) {
+            int firstChild = arity * hole + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int minChild = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (heapPriorities[child] < heapPriorities[minChild]) {
+                    minChild = child;
+                }
+            }
+            if (heapPriorities[minChild] >= priority) {
+                break;
+            }
+            place(hole, heapKeys[minChild], heapPriorities[minChild]);
+            hole = minChild;
+        }
+        place(hole, key, priority);
+    }
+
+    private void place(int index, int key, double priority) {
+        heapKeys[index] = key;
+        heapPriorities[index] = priority;
+        positions[key] = index;
+    }
+}
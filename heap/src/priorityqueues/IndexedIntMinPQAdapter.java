@@ -0,0 +1,62 @@
+package priorityqueues;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link ExtrinsicMinPQ} of Integers backed by an {@link IndexedIntMinPQ}, for code that needs
+ * the ExtrinsicMinPQ interface. Items are unboxed on the way in and boxed on the way out, so code
+ * that cares about speed should use the IndexedIntMinPQ directly instead.
+ *
+ * Like IndexedIntMinPQ, this PQ cannot contain negative items.
+ */
+public class IndexedIntMinPQAdapter implements ExtrinsicMinPQ<Integer> {
+    final IndexedIntMinPQ pq;
+
+    public IndexedIntMinPQAdapter() {
+        this(new IndexedIntMinPQ());
+    }
+
+    public IndexedIntMinPQAdapter(IndexedIntMinPQ pq) {
+        this.pq = pq;
+    }
+
+    /**
+     * Adds an item with the given priority value.
+     * @throws IllegalArgumentException if item is null, negative, or is already present in the PQ
+     */
+    @Override
+    public void add(Integer item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        pq.add(item, priority);
+    }
+
+    @Override
+    public boolean contains(Integer item) {
+        return item != null && pq.contains(item);
+    }
+
+    @Override
+    public Integer peekMin() {
+        return pq.peekMin();
+    }
+
+    @Override
+    public Integer removeMin() {
+        return pq.removeMin();
+    }
+
+    @Override
+    public void changePriority(Integer item, double priority) {
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        pq.changePriority(item, priority);
+    }
+
+    @Override
+    public int size() {
+        return pq.size();
+    }
+}
@@ -0,0 +1,12 @@
+package priorityqueues;
+
+/**
+ * Runs the IndexedIntMinPQ tests on a 4-ary heap.
+ */
+public class IndexedIntMinPQ4AryTests extends IndexedIntMinPQTests {
+
+    @Override
+    protected IndexedIntMinPQ createIntMinPQ() {
+        return new IndexedIntMinPQ(4, 0);
+    }
+}
@@ -0,0 +1,31 @@
+package priorityqueues;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An implementation of AbstractHeapMinPQAssert that extracts the heap from an
+ * IndexedIntMinPQAdapter, copying its parallel arrays into a list of PriorityNodes.
+ */
+public class IndexedIntMinPQAssert<T> extends AbstractHeapMinPQAssert<T> {
+
+    public IndexedIntMinPQAssert(ExtrinsicMinPQ<T> actual) {
+        super(actual, IndexedIntMinPQAssert.class);
+    }
+
+    @Override
+    protected int extractStartIndex(ExtrinsicMinPQ<T> actual) {
+        return IndexedIntMinPQ.START_INDEX;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<PriorityNode<T>> extractHeap(ExtrinsicMinPQ<T> actual) {
+        IndexedIntMinPQ pq = ((IndexedIntMinPQAdapter) actual).pq;
+        List<PriorityNode<T>> heap = new ArrayList<>();
+        for (int i = 0; i < pq.size(); i++) {
+            heap.add(new PriorityNode<>((T) Integer.valueOf(pq.heapKeys[i]), pq.heapPriorities[i]));
+        }
+        return heap;
+    }
+}
@@ -0,0 +1,81 @@
+package priorityqueues;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Runs the ArrayHeapMinPQ tests on a binary IndexedIntMinPQ (through an IndexedIntMinPQAdapter),
+ * plus a few tests for behavior specific to int keys.
+ */
+public class IndexedIntMinPQTests extends ArrayHeapMinPQTests {
+
+    protected IndexedIntMinPQ createIntMinPQ() {
+        return new IndexedIntMinPQ(2, 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends Comparable<T>> ExtrinsicMinPQ<T> createMinPQ() {
+        return (ExtrinsicMinPQ<T>) new IndexedIntMinPQAdapter(createIntMinPQ());
+    }
+
+    @Override
+    protected <T extends Comparable<T>> AbstractHeapMinPQAssert<T> assertThat(ExtrinsicMinPQ<T> pq) {
+        return new IndexedIntMinPQAssert<>(pq);
+    }
+
+    @Test
+    void addNegative_throwsIllegalArgument() {
+        IndexedIntMinPQ pq = createIntMinPQ();
+        assertThatThrownBy(() -> pq.add(-1, 15)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pq.contains(-1)).isFalse();
+    }
+
+    @Test
+    void addKeysBeyondCapacity_growsAndReturnsInOrder() {
+        IndexedIntMinPQ pq = createIntMinPQ();
+        for (int i = 0; i < 1000; i++) {
+            pq.add(999 - i, i);
+        }
+        assertThat(pq.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(pq.removeMin()).isEqualTo(999 - i);
+        }
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void changePriority_movesKeyBothWays() {
+        IndexedIntMinPQ pq = createIntMinPQ();
+        for (int i = 0; i < 10; i++) {
+            pq.add(i, i);
+        }
+        pq.changePriority(7, -1);
+        assertThat(pq.peekMin()).isEqualTo(7);
+        assertThat(pq.priority(7)).isEqualTo(-1);
+        pq.changePriority(7, 100);
+        pq.changePriority(0, 50);
+        int[] expected = {1, 2, 3, 4, 5, 6, 8, 9, 0, 7};
+        for (int key : expected) {
+            assertThat(pq.removeMin()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void clear_removesAllKeysAndAllowsReuse() {
+        IndexedIntMinPQ pq = createIntMinPQ();
+        pq.add(3, 3);
+        pq.add(1, 1);
+        pq.add(2, 2);
+        pq.clear();
+        assertThat(pq.isEmpty()).isTrue();
+        assertThat(pq.contains(1)).isFalse();
+        assertThatThrownBy(pq::peekMin).isInstanceOf(NoSuchElementException.class);
+
+        pq.add(1, 5);
+        pq.add(3, 4);
+        assertThat(pq.removeMin()).isEqualTo(3);
+        assertThat(pq.removeMin()).isEqualTo(1);
+    }
+}
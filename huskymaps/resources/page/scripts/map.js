@@ -46,6 +46,7 @@
     const ROOT_LRLON = -121.9921875;
     const NUM_X_TILES_AT_DEPTH = [2, 4, 8, 16, 32, 64, 128, 256];
     const NUM_Y_TILES_AT_DEPTH = [1, 2, 4,  8, 16, 32,  64, 128];
+    const TILE_SIZE = 256;
 
     let depth;
     let lat;
@@ -53,8 +54,11 @@
 
     /* Set server URIs */
     const RASTER_SERVER = document.location.origin + '/raster';
+    const TILE_SERVER = document.location.origin + '/tile';
     const ROUTE_SERVER = document.location.origin + '/route';
     const SEARCH_SERVER = document.location.origin + '/search';
+    /* The most suggestions to ask the server for while typing a search. */
+    const AUTOCOMPLETE_LIMIT = 10;
 
     /* ════════════════════════════ ೋღ HELPERS ღೋ ══════════════════════════ */
     /* get_londpp is offset by 1 since lon is twice as wide. */
@@ -86,6 +90,8 @@
         show(loadingStatus);
         getInProgress = true;
         let params = get_view_bounds();
+        // fetch the tiles separately so the browser can cache them, instead of one big image
+        params.tiles_only = true;
         warningsContainer.innerHTML = "";
 
         fetch(RASTER_SERVER + createUrlParams(params))
@@ -97,27 +103,82 @@
     function handleRasterSuccess(response) {
         let data = JSON.parse(response);
         if (data.success) {
-            hide(loadingStatus);
-            map.src = 'data:image/png;base64,' + data.image;
-            routingCanvas.width = map.width;
-            routingCanvas.height = map.height;
-            ullon_bound = data.ullon;
-            ullat_bound = data.ullat;
-            lrlon_bound = data.lrlon;
-            lrlat_bound = data.lrlat;
-            getInProgress = false;
-
-            updateT();
-            drawRoute();
-            if (updatePending) {
-                updatePending = false;
-                updateImg();
+            if (data.image) {
+                showRaster(data, 'data:image/png;base64,' + data.image);
+            } else {
+                composeTiles(data.tiles)
+                    .then(function(src) {
+                        showRaster(data, src);
+                    })
+                    .catch(handleRasterError);
             }
         } else {
             hide(loadingStatus);
         }
     }
 
+    /* Draws the grid of tiles onto a canvas, resolving to an object URL for the finished image. */
+    function composeTiles(tiles) {
+        const canvas = document.createElement('canvas');
+        canvas.width = tiles[0].length * TILE_SIZE;
+        canvas.height = tiles.length * TILE_SIZE;
+        const graphics = canvas.getContext('2d');
+        const loads = [];
+        tiles.forEach(function(row, r) {
+            row.forEach(function(tile, c) {
+                loads.push(loadTile(tile).then(function(image) {
+                    if (image) {
+                        graphics.drawImage(image, c * TILE_SIZE, r * TILE_SIZE);
+                    }
+                }));
+            });
+        });
+        return Promise.all(loads).then(function() {
+            return new Promise(function(resolve) {
+                canvas.toBlob(function(blob) {
+                    resolve(URL.createObjectURL(blob));
+                });
+            });
+        });
+    }
+
+    /* Resolves to the image for the given tile, or to null if it couldn't be loaded. */
+    function loadTile(tile) {
+        return new Promise(function(resolve) {
+            const image = new Image();
+            image.onload = function() {
+                resolve(image);
+            };
+            image.onerror = function() {
+                resolve(null);
+            };
+            image.src = TILE_SERVER + createUrlParams(tile);
+        });
+    }
+
+    function showRaster(data, src) {
+        hide(loadingStatus);
+        if (map.src.startsWith('blob:')) {
+            URL.revokeObjectURL(map.src);
+        }
+        map.src = src;
+        // a blob URL loads asynchronously, so size the canvas from the grid instead of the image
+        routingCanvas.width = data.tiles[0].length * TILE_SIZE;
+        routingCanvas.height = data.tiles.length * TILE_SIZE;
+        ullon_bound = data.ullon;
+        ullat_bound = data.ullat;
+        lrlon_bound = data.lrlon;
+        lrlat_bound = data.lrlat;
+        getInProgress = false;
+
+        updateT();
+        drawRoute();
+        if (updatePending) {
+            updatePending = false;
+            updateImg();
+        }
+    }
+
     function handleRasterError(response) {
         console.error(response);
         getInProgress = false;
@@ -419,7 +480,7 @@
     }
 
     function updateAutocomplete(text, update) {
-        fetch(SEARCH_SERVER + '?term=' + text)
+        fetch(SEARCH_SERVER + '?term=' + text + '&limit=' + AUTOCOMPLETE_LIMIT)
               .then(checkStatus)
               .then(processSearchResponse)
               .then(update)
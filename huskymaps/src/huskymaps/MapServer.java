@@ -1,40 +1,80 @@
 package huskymaps;
 
+import huskymaps.graph.CompactStreetMapGraph;
 import huskymaps.graph.StreetMapGraph;
 import huskymaps.handlers.APIRouteHandler;
 import huskymaps.handlers.RedirectAPIHandler;
 import huskymaps.handlers.rastering.RasterAPIHandler;
+import huskymaps.handlers.rastering.TileAPIHandler;
+import huskymaps.handlers.routing.BatchRoutingAPIHandler;
+import huskymaps.handlers.routing.IsochroneAPIHandler;
+import huskymaps.handlers.routing.MatrixAPIHandler;
 import huskymaps.handlers.routing.RoutingAPIHandler;
 import huskymaps.handlers.searching.SearchAPIHandler;
 import huskymaps.rastering.DefaultRasterer;
+import huskymaps.routing.ContractionHierarchyRouter;
 import huskymaps.routing.DefaultRouter;
+import huskymaps.routing.Router;
 import huskymaps.searching.DefaultSearcher;
 
+import java.io.File;
 import java.util.Map;
+import java.util.logging.Logger;
 
 import static huskymaps.utils.Constants.OSM_GZ_RESOURCE_NAME;
 import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
 import static huskymaps.utils.Constants.PORT;
+import static huskymaps.utils.Constants.RESULT_CACHE_BYTES;
+import static huskymaps.utils.Constants.ROUTE_CACHE_NODES;
+import static huskymaps.utils.Constants.TILE_CACHE_BYTES;
+import static huskymaps.utils.Constants.TILE_FILE_CACHE_BYTES;
 import static spark.Spark.before;
 import static spark.Spark.get;
 import static spark.Spark.port;
+import static spark.Spark.post;
 import static spark.Spark.staticFileLocation;
 
+/**
+ * The HuskyMaps web server.
+ *
+ * Spark serves requests on a pool of threads, so every handler is shared by concurrent requests.
+ * Handlers keep no per-request state in their fields, and everything they read is either built once
+ * at startup and never modified afterwards (the graph, the search indexes) or safe for concurrent
+ * use (the result caches, whose lookups don't take locks, and the routers' per-thread search
+ * workspaces). That lets every request read the same structures without any locking.
+ */
 public class MapServer {
+    private static final Logger LOGGER = Logger.getLogger(MapServer.class.getName());
+
     protected final Map<String, APIRouteHandler<?, ?>> handlers;
+    /** The handlers for POST requests, which take their parameters in the request body. */
+    protected final Map<String, APIRouteHandler<?, ?>> postHandlers;
 
     public MapServer(Map<String, APIRouteHandler<?, ?>> handlers) {
+        this(handlers, Map.of());
+    }
+
+    public MapServer(Map<String, APIRouteHandler<?, ?>> handlers, Map<String, APIRouteHandler<?, ?>> postHandlers) {
         this.handlers = handlers;
+        this.postHandlers = postHandlers;
     }
 
     /** Entry point for the MapServer. Everything starts here. */
     public static void main(String[] args) {
-        StreetMapGraph graph = StreetMapGraph.fromResources(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+        // freeze the graph once, so the router and searcher share the same read-only copy
+        StreetMapGraph graph = freeze(loadGraph());
+        Router router = createRouter(graph);
         new MapServer(Map.of(
-            "/raster", new RasterAPIHandler(new DefaultRasterer()),
-            "/route", new RoutingAPIHandler(new DefaultRouter(graph)),
-            "/search", new SearchAPIHandler(new DefaultSearcher(graph)),
+            "/raster", new RasterAPIHandler(new DefaultRasterer(),
+                getBytes("TILE_CACHE_MB", TILE_CACHE_BYTES), getBytes("RESULT_CACHE_MB", RESULT_CACHE_BYTES)),
+            "/tile", new TileAPIHandler(getBytes("TILE_FILE_CACHE_MB", TILE_FILE_CACHE_BYTES)),
+            "/route", new RoutingAPIHandler(router),
+            "/matrix", new MatrixAPIHandler(router),
+            "/isochrone", new IsochroneAPIHandler(router),
+            "/search", new SearchAPIHandler(createSearcher(graph)),
             "/", new RedirectAPIHandler()
+        ), Map.of(
+            "/route/batch", new BatchRoutingAPIHandler(router)
         )).start();
     }
 
@@ -53,6 +93,9 @@ public class MapServer {
         for (Map.Entry<String, APIRouteHandler<?, ?>> apiRoute : handlers.entrySet()) {
             get(apiRoute.getKey(), apiRoute.getValue());
         }
+        for (Map.Entry<String, APIRouteHandler<?, ?>> apiRoute : postHandlers.entrySet()) {
+            post(apiRoute.getKey(), apiRoute.getValue());
+        }
     }
 
     private static int getPort() {
@@ -62,4 +105,54 @@ public class MapServer {
         }
         return PORT;
     }
+
+    /**
+     * Loads the graph from the snapshot file named by the GRAPH_SNAPSHOT variable if it is set (see
+     * GraphSnapshot for how to build one), or from the OSM data in the resources otherwise.
+     */
+    private static StreetMapGraph loadGraph() {
+        String snapshot = System.getenv("GRAPH_SNAPSHOT");
+        if (snapshot != null) {
+            return StreetMapGraph.fromSnapshot(new File(snapshot));
+        }
+        return StreetMapGraph.fromResourcesPipelined(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+    }
+
+    /** Returns a read-only compact copy of the graph, or the graph itself if it's already compact. */
+    private static CompactStreetMapGraph freeze(StreetMapGraph graph) {
+        if (graph instanceof CompactStreetMapGraph) {
+            return (CompactStreetMapGraph) graph;
+        }
+        return CompactStreetMapGraph.fromGraph(graph);
+    }
+
+    /**
+     * Returns a ContractionHierarchyRouter if the USE_CONTRACTION_HIERARCHY variable is set, which
+     * makes startup slower but routing much faster, or a DefaultRouter otherwise. The size of the
+     * router's route cache, in total nodes, can be set with the ROUTE_CACHE_NODES variable.
+     */
+    private static Router createRouter(StreetMapGraph graph) {
+        String cacheNodes = System.getenv("ROUTE_CACHE_NODES");
+        long routeCacheNodes = cacheNodes != null ? Long.parseLong(cacheNodes) : ROUTE_CACHE_NODES;
+        if (System.getenv("USE_CONTRACTION_HIERARCHY") != null) {
+            return new ContractionHierarchyRouter(graph, routeCacheNodes);
+        }
+        return new DefaultRouter(graph, routeCacheNodes);
+    }
+
+    /** Returns a searcher for the graph, logging the estimated size of its name index. */
+    private static DefaultSearcher createSearcher(StreetMapGraph graph) {
+        DefaultSearcher searcher = new DefaultSearcher(graph);
+        LOGGER.info(String.format("Search name index: about %,d bytes", searcher.estimatedBytes()));
+        return searcher;
+    }
+
+    /** Returns a memory budget in bytes, which can be set in megabytes with the given variable. */
+    private static long getBytes(String megabytesVariable, long defaultBytes) {
+        String megabytes = System.getenv(megabytesVariable);
+        if (megabytes != null) {
+            return Long.parseLong(megabytes) * 1024 * 1024;
+        }
+        return defaultBytes;
+    }
 }
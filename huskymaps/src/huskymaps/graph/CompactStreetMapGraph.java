@@ -0,0 +1,352 @@
+package huskymaps.graph;
+
+import graphpathfinding.IndexedAStarGraph;
+import graphpathfinding.WeightedEdge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static huskymaps.utils.Spatial.greatCircleDistance;
+
+/**
+ * An immutable {@link StreetMapGraph} that stores its adjacency lists in compressed sparse row
+ * (CSR) form instead of a map of hash sets.
+ *
+ * Every node is identified by an int index (its position in {@link #allNodes()}). The outgoing
+ * edges of node i occupy the range [edgeStart(i), edgeEnd(i)) of a few parallel primitive arrays
+ * holding each edge's target index, weight, and way name. Way names are interned, so each
+ * distinct name is stored once no matter how many edges use it.
+ *
+ * {@link #neighbors(Node)} still returns {@link WeightedEdge}s so this graph works anywhere a
+ * StreetMapGraph does, but those edges are created on demand as the returned set is iterated.
+ * Code that cares about speed should use the index-based accessors from {@link IndexedAStarGraph}
+ * instead.
+ */
+public class CompactStreetMapGraph extends StreetMapGraph implements IndexedAStarGraph<Node> {
+    private static final int NO_NAME = -1;
+
+    final Node[] nodeArray;
+    private final List<Node> nodeList;
+    private final double[] lats;
+    private final double[] lons;
+    /** Node ids in ascending order, used to look up the index of a node. */
+    private final long[] sortedIds;
+    /** sortedIndices[i] is the index of the node whose id is sortedIds[i]. */
+    final int[] sortedIndices;
+    /** The edges out of node i are at positions edgeOffsets[i] (inclusive) to edgeOffsets[i + 1]. */
+    final int[] edgeOffsets;
+    final int[] edgeTargets;
+    final double[] edgeWeights;
+    final int[] edgeNames;
+    final String[] wayNames;
+
+    /**
+     * Creates a compact copy of the given graph. Node objects are shared with the original graph;
+     * everything else is copied, so the original may be discarded afterwards.
+     *
+     * Edges are stored in the order the original graph iterates over them, so searches over this
+     * graph visit vertices in the same order as searches over the original.
+     *
+     * @throws IllegalArgumentException if an edge leads to a node that is not in the graph
+     */
+    public static CompactStreetMapGraph fromGraph(StreetMapGraph graph) {
+        return new CompactStreetMapGraph(graph);
+    }
+
+    private CompactStreetMapGraph(StreetMapGraph graph) {
+        this.nodeArray = graph.allNodes().toArray(new Node[0]);
+        this.nodeList = Collections.unmodifiableList(Arrays.asList(nodeArray));
+        this.nodes = nodeList;
+        this.neighbors = Map.of();
+        this.lats = latsOf(nodeArray);
+        this.lons = lonsOf(nodeArray);
+        this.sortedIndices = sortIndicesById(nodeArray);
+        this.sortedIds = sortedIds(nodeArray, sortedIndices);
+
+        int n = nodeArray.length;
+        this.edgeOffsets = new int[n + 1];
+        int numEdges = 0;
+        for (int i = 0; i < n; i++) {
+            edgeOffsets[i] = numEdges;
+            if (isFirstOccurrence(i)) {
+                numEdges += graph.neighbors(nodeArray[i]).size();
+            }
+        }
+        edgeOffsets[n] = numEdges;
+
+        this.edgeTargets = new int[numEdges];
+        this.edgeWeights = new double[numEdges];
+        this.edgeNames = new int[numEdges];
+        Map<String, Integer> nameIndices = new HashMap<>();
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            if (!isFirstOccurrence(i)) {
+                continue;
+            }
+            for (WeightedEdge<Node> edge : graph.neighbors(nodeArray[i])) {
+                int target = indexOf(edge.to());
+                if (target < 0) {
+                    throw new IllegalArgumentException("Edge leads to a node not in the graph: " + edge);
+                }
+                edgeTargets[e] = target;
+                edgeWeights[e] = edge.weight();
+                edgeNames[e] = edge.name() == null
+                    ? NO_NAME
+                    : nameIndices.computeIfAbsent(edge.name(), k -> nameIndices.size());
+                e++;
+            }
+        }
+
+        this.wayNames = new String[nameIndices.size()];
+        for (Map.Entry<String, Integer> entry : nameIndices.entrySet()) {
+            wayNames[entry.getValue()] = entry.getKey();
+        }
+    }
+
+    /**
+     * Creates a graph directly from its arrays, which are used as-is rather than copied. Used to
+     * load graphs from snapshots, which also store the node indices in order of id so that they
+     * don't need to be sorted again.
+     */
+    CompactStreetMapGraph(Node[] nodeArray, int[] sortedIndices, int[] edgeOffsets, int[] edgeTargets,
+                          double[] edgeWeights, int[] edgeNames, String[] wayNames) {
+        this.nodeArray = nodeArray;
+        this.nodeList = Collections.unmodifiableList(Arrays.asList(nodeArray));
+        this.nodes = nodeList;
+        this.neighbors = Map.of();
+        this.lats = latsOf(nodeArray);
+        this.lons = lonsOf(nodeArray);
+        this.sortedIndices = sortedIndices;
+        this.sortedIds = sortedIds(nodeArray, sortedIndices);
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeWeights = edgeWeights;
+        this.edgeNames = edgeNames;
+        this.wayNames = wayNames;
+    }
+
+    private static double[] latsOf(Node[] nodeArray) {
+        double[] lats = new double[nodeArray.length];
+        for (int i = 0; i < nodeArray.length; i++) {
+            lats[i] = nodeArray[i].lat();
+        }
+        return lats;
+    }
+
+    private static double[] lonsOf(Node[] nodeArray) {
+        double[] lons = new double[nodeArray.length];
+        for (int i = 0; i < nodeArray.length; i++) {
+            lons[i] = nodeArray[i].lon();
+        }
+        return lons;
+    }
+
+    /** Returns the indices of the given nodes, ordered by node id. */
+    private static int[] sortIndicesById(Node[] nodeArray) {
+        Integer[] order = new Integer[nodeArray.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // a stable sort, so duplicate ids resolve to their first occurrence in the node list
+        Arrays.sort(order, (a, b) -> Long.compare(nodeArray[a].id(), nodeArray[b].id()));
+        int[] sortedIndices = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIndices[i] = order[i];
+        }
+        return sortedIndices;
+    }
+
+    private static long[] sortedIds(Node[] nodeArray, int[] sortedIndices) {
+        long[] sortedIds = new long[sortedIndices.length];
+        for (int i = 0; i < sortedIndices.length; i++) {
+            sortedIds[i] = nodeArray[sortedIndices[i]].id();
+        }
+        return sortedIds;
+    }
+
+    /** Returns whether node i is the first node in the node list with its id. */
+    private boolean isFirstOccurrence(int i) {
+        return indexOf(nodeArray[i]) == i;
+    }
+
+    /** Returns the number of nodes in this graph. */
+    @Override
+    public int numVertices() {
+        return nodeArray.length;
+    }
+
+    /** Returns the number of directed edges in this graph. */
+    public int numEdges() {
+        return edgeTargets.length;
+    }
+
+    /**
+     * Returns the index of the given node, or -1 if it is not in this graph.
+     * Runs in O(log N) time.
+     */
+    @Override
+    public int indexOf(Node node) {
+        int i = Arrays.binarySearch(sortedIds, node.id());
+        if (i < 0) {
+            return -1;
+        }
+        // binarySearch may land anywhere in a run of duplicate ids
+        while (i > 0 && sortedIds[i - 1] == sortedIds[i]) {
+            i--;
+        }
+        return sortedIndices[i];
+    }
+
+    /** Returns the node with the given index. */
+    @Override
+    public Node vertex(int index) {
+        return nodeArray[index];
+    }
+
+    /** Returns the position of the first outgoing edge of the node with the given index. */
+    @Override
+    public int edgeStart(int index) {
+        return edgeOffsets[index];
+    }
+
+    /** Returns the position after the last outgoing edge of the node with the given index. */
+    @Override
+    public int edgeEnd(int index) {
+        return edgeOffsets[index + 1];
+    }
+
+    /** Returns the index of the node the given edge leads to. */
+    @Override
+    public int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /** Returns the weight of the given edge. */
+    @Override
+    public double edgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    @Override
+    public double estimatedDistanceToGoal(int v, int goal) {
+        return greatCircleDistance(lats[v], lons[v], lats[goal], lons[goal]);
+    }
+
+    /** Returns the way name of the given edge, or null if it has none. */
+    public String edgeName(int edge) {
+        int name = edgeNames[edge];
+        return name == NO_NAME ? null : wayNames[name];
+    }
+
+    /** Returns the given edge, with its way name. */
+    @Override
+    public WeightedEdge<Node> edge(int from, int edge) {
+        return new WeightedEdge<>(nodeArray[from], nodeArray[edgeTargets[edge]], edgeWeights[edge], edgeName(edge));
+    }
+
+    /** Returns a set of outgoing edges for V, or an empty set if V is not in this graph. */
+    @Override
+    public Set<WeightedEdge<Node>> neighbors(Node v) {
+        int index = indexOf(v);
+        if (index < 0) {
+            return Collections.emptySet();
+        }
+        return new EdgeSet(index);
+    }
+
+    /** Returns an unmodifiable list of all nodes in the graph. */
+    @Override
+    public List<Node> allNodes() {
+        return nodeList;
+    }
+
+    /** Always throws, since this graph is immutable. */
+    @Override
+    protected void addWeightedEdge(Node from, Node to, String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** Always throws, since this graph is immutable. */
+    @Override
+    protected void addWeightedEdge(Node from, Node to, double weight, String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** Always throws, since this graph is immutable. */
+    @Override
+    protected void addNode(Node node) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns an estimate of the number of bytes used by this graph's own arrays and way names,
+     * assuming a 64-bit JVM with compressed references. The Node objects themselves, which are
+     * shared with the graph this was created from, are not counted.
+     */
+    public long estimatedBytes() {
+        long bytes = arrayBytes(nodeArray.length, 4)
+            + arrayBytes(lats.length, 8)
+            + arrayBytes(lons.length, 8)
+            + arrayBytes(sortedIds.length, 8)
+            + arrayBytes(sortedIndices.length, 4)
+            + arrayBytes(edgeOffsets.length, 4)
+            + arrayBytes(edgeTargets.length, 4)
+            + arrayBytes(edgeWeights.length, 8)
+            + arrayBytes(edgeNames.length, 4)
+            + arrayBytes(wayNames.length, 4);
+        for (String name : wayNames) {
+            // String header and fields, plus its backing byte array (assuming Latin-1 contents)
+            bytes += 24 + arrayBytes(name.length(), 1);
+        }
+        return bytes;
+    }
+
+    /** Returns the size of an array with the given length and element size, rounded up to 8 bytes. */
+    private static long arrayBytes(int length, int elementSize) {
+        long bytes = 16 + (long) length * elementSize;
+        return (bytes + 7) / 8 * 8;
+    }
+
+    /** A read-only view of the outgoing edges of one node that creates WeightedEdges as needed. */
+    private class EdgeSet extends AbstractSet<WeightedEdge<Node>> {
+        private final int from;
+
+        EdgeSet(int from) {
+            this.from = from;
+        }
+
+        @Override
+        public Iterator<WeightedEdge<Node>> iterator() {
+            return new Iterator<>() {
+                private int edge = edgeStart(from);
+
+                @Override
+                public boolean hasNext() {
+                    return edge < edgeEnd(from);
+                }
+
+                @Override
+                public WeightedEdge<Node> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    WeightedEdge<Node> result = CompactStreetMapGraph.this.edge(from, edge);
+                    edge++;
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return edgeEnd(from) - edgeStart(from);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package huskymaps.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static huskymaps.utils.Constants.OSM_GZ_RESOURCE_NAME;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+/**
+ * Reads and writes {@link CompactStreetMapGraph}s as binary snapshot files, so that MapServer can
+ * start without parsing the OSM data every time.
+ *
+ * A snapshot stores the graph's arrays back to back after a small header, so that loading one is
+ * mostly a series of bulk copies out of a memory-mapped file. The layout is:
+ *
+ * <pre>
+ * int     MAGIC, VERSION
+ * int     number of nodes (n), number of edges (m), number of strings (s)
+ * String  s strings, each an int byte length followed by that many bytes of UTF-8
+ * long    n node ids
+ * double  n node latitudes, then n node longitudes
+ * int     n node importances
+ * int     n node name indices into the strings, or -1 for nodes without a name
+ * int     n node indices in order of node id
+ * int     n + 1 edge offsets
+ * int     m edge targets
+ * double  m edge weights
+ * int     m edge name indices into the strings, or -1 for edges without a name
+ * </pre>
+ *
+ * Node names and way names share one string table, so a name used by many nodes and edges is
+ * stored once. All values are big-endian, as written by {@link DataOutputStream}.
+ *
+ * Run this class's main method to build a snapshot of the graph in the project's resources.
+ */
+public class GraphSnapshot {
+    private static final int MAGIC = 0x484d4753; // "HMGS"
+    private static final int VERSION = 1;
+    private static final int NO_NAME = -1;
+    /** The bytes stored per node: id, latitude, longitude, importance, name, sorted index, edge offset. */
+    private static final int NODE_BYTES = Long.BYTES + 2 * Double.BYTES + 4 * Integer.BYTES;
+    /** The bytes stored per edge: target, weight, name. */
+    private static final int EDGE_BYTES = Integer.BYTES + Double.BYTES + Integer.BYTES;
+
+    /**
+     * Builds a snapshot of the graph in the OSM and places resources and writes it to the file
+     * given as the only argument.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: GraphSnapshot OUTPUT_FILE");
+            System.exit(1);
+        }
+        long start = System.currentTimeMillis();
+        StreetMapGraph graph = StreetMapGraph.fromResourcesPipelined(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+        CompactStreetMapGraph compact = CompactStreetMapGraph.fromGraph(graph);
+        System.out.println("Parsed " + compact.numVertices() + " nodes and " + compact.numEdges() + " edges in "
+            + (System.currentTimeMillis() - start) / 1000.0 + " seconds.");
+
+        Path output = Path.of(args[0]);
+        write(compact, output);
+        System.out.println("Wrote " + Files.size(output) + " bytes to " + output + ".");
+    }
+
+    /** Writes the given graph to the given file, replacing the file if it already exists. */
+    public static void write(CompactStreetMapGraph graph, Path file) throws IOException {
+        Node[] nodes = graph.nodeArray;
+        int n = nodes.length;
+        int m = graph.edgeTargets.length;
+
+        Map<String, Integer> stringIndices = new HashMap<>();
+        String[] wayNames = graph.wayNames;
+        int[] nodeNames = new int[n];
+        for (int i = 0; i < n; i++) {
+            nodeNames[i] = indexOf(nodes[i].name(), stringIndices);
+        }
+        int[] edgeNames = new int[m];
+        for (int e = 0; e < m; e++) {
+            int wayName = graph.edgeNames[e];
+            edgeNames[e] = wayName == NO_NAME ? NO_NAME : indexOf(wayNames[wayName], stringIndices);
+        }
+        String[] strings = new String[stringIndices.size()];
+        for (Map.Entry<String, Integer> entry : stringIndices.entrySet()) {
+            strings[entry.getValue()] = entry.getKey();
+        }
+
+        try (OutputStream os = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(m);
+            out.writeInt(strings.length);
+            for (String s : strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            for (Node node : nodes) {
+                out.writeLong(node.id());
+            }
+            for (Node node : nodes) {
+                out.writeDouble(node.lat());
+            }
+            for (Node node : nodes) {
+                out.writeDouble(node.lon());
+            }
+            for (Node node : nodes) {
+                out.writeInt(node.importance());
+            }
+            writeInts(out, nodeNames);
+            writeInts(out, graph.sortedIndices);
+            writeInts(out, graph.edgeOffsets);
+            writeInts(out, graph.edgeTargets);
+            for (double weight : graph.edgeWeights) {
+                out.writeDouble(weight);
+            }
+            writeInts(out, edgeNames);
+        }
+    }
+
+    private static int indexOf(String s, Map<String, Integer> stringIndices) {
+        if (s == null) {
+            return NO_NAME;
+        }
+        return stringIndices.computeIfAbsent(s, k -> stringIndices.size());
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Reads a graph from the given snapshot file by memory-mapping it.
+     * @throws IOException if the file can't be read or isn't a snapshot of this version
+     */
+    public static CompactStreetMapGraph read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, file);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated graph snapshot: " + file, e);
+        }
+    }
+
+    private static CompactStreetMapGraph read(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.remaining() < 5 * Integer.BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a graph snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported graph snapshot version " + version + ": " + file);
+        }
+        int n = buffer.getInt();
+        int m = buffer.getInt();
+        int numStrings = buffer.getInt();
+        // check every count against the bytes left before allocating anything for it, so that a
+        // corrupt count fails here instead of exhausting the heap
+        checkCount(buffer, numStrings, Integer.BYTES, "string", file);
+        String[] strings = new String[numStrings];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            checkCount(buffer, length, 1, "string byte", file);
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        checkCount(buffer, n, NODE_BYTES, "node", file);
+        checkCount(buffer, m, EDGE_BYTES, "edge", file);
+        if ((long) n * NODE_BYTES + Integer.BYTES + (long) m * EDGE_BYTES > buffer.remaining()) {
+            throw new IOException("Truncated graph snapshot: " + file);
+        }
+
+        long[] ids = readLongs(buffer, n);
+        double[] lats = readDoubles(buffer, n);
+        double[] lons = readDoubles(buffer, n);
+        int[] importances = readInts(buffer, n);
+        int[] nodeNames = readInts(buffer, n);
+        int[] sortedIndices = readInts(buffer, n);
+        int[] edgeOffsets = readInts(buffer, n + 1);
+        int[] edgeTargets = readInts(buffer, m);
+        double[] edgeWeights = readDoubles(buffer, m);
+        int[] edgeNames = readInts(buffer, m);
+
+        checkIndices(nodeNames, NO_NAME, numStrings, "node name", file);
+        checkIndices(sortedIndices, 0, n, "sorted node", file);
+        checkIndices(edgeTargets, 0, n, "edge target", file);
+        checkIndices(edgeNames, NO_NAME, numStrings, "edge name", file);
+        if (edgeOffsets[0] != 0 || edgeOffsets[n] != m) {
+            throw new IOException("Corrupt graph snapshot: edge offsets don't cover the edges: " + file);
+        }
+        for (int i = 0; i < n; i++) {
+            if (edgeOffsets[i] > edgeOffsets[i + 1]) {
+                throw new IOException("Corrupt graph snapshot: edge offsets decrease at node " + i + ": " + file);
+            }
+        }
+
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            String name = nodeNames[i] == NO_NAME ? null : strings[nodeNames[i]];
+            nodes[i] = new Node(ids[i], lats[i], lons[i], name, importances[i]);
+        }
+        // remap edge names from the shared string table to a table of way names only
+        Map<Integer, Integer> wayNameIndices = new HashMap<>();
+        for (int e = 0; e < m; e++) {
+            if (edgeNames[e] != NO_NAME) {
+                edgeNames[e] = wayNameIndices.computeIfAbsent(edgeNames[e], k -> wayNameIndices.size());
+            }
+        }
+        String[] wayNames = new String[wayNameIndices.size()];
+        for (Map.Entry<Integer, Integer> entry : wayNameIndices.entrySet()) {
+            wayNames[entry.getValue()] = strings[entry.getKey()];
+        }
+        return new CompactStreetMapGraph(nodes, sortedIndices, edgeOffsets, edgeTargets, edgeWeights,
+                                         edgeNames, wayNames);
+    }
+
+    /**
+     * Throws an IOException if the given count is negative, or if that many values of the given
+     * size can't fit in the rest of the buffer.
+     */
+    private static void checkCount(ByteBuffer buffer, int count, int bytesPerValue, String what, Path file)
+            throws IOException {
+        if (count < 0 || (long) count * bytesPerValue > buffer.remaining()) {
+            throw new IOException("Corrupt graph snapshot: invalid " + what + " count " + count + ": " + file);
+        }
+    }
+
+    /** Throws an IOException unless every value is at least min and less than bound. */
+    private static void checkIndices(int[] values, int min, int bound, String what, Path file) throws IOException {
+        for (int value : values) {
+            if (value < min || value >= bound) {
+                throw new IOException("Corrupt graph snapshot: invalid " + what + " index " + value + ": " + file);
+            }
+        }
+    }
+
+    private static long[] readLongs(ByteBuffer buffer, int length) {
+        long[] values = new long[length];
+        buffer.asLongBuffer().get(values);
+        skip(buffer, length, Long.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int length) {
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        skip(buffer, length, Integer.BYTES);
+        return values;
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer, int length) {
+        double[] values = new double[length];
+        buffer.asDoubleBuffer().get(values);
+        skip(buffer, length, Double.BYTES);
+        return values;
+    }
+
+    /** Advances the buffer past values that were read through a view of it. */
+    private static void skip(ByteBuffer buffer, int length, int bytesPerValue) {
+        buffer.position(buffer.position() + length * bytesPerValue);
+    }
+}
@@ -0,0 +1,97 @@
+package huskymaps.graph;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from longs to non-negative ints, for looking up OSM node ids without boxing them.
+ * Uses open addressing with linear probing in two parallel arrays, so it allocates nothing per
+ * entry; a value slot of 0 marks an empty slot, so values are stored plus one.
+ */
+class LongIntMap {
+    private static final double MAX_LOAD = 0.5;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /** Creates an empty map that can hold the given number of entries without resizing. */
+    LongIntMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * MAX_LOAD < expectedSize) {
+            capacity *= 2;
+        }
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value for the key.
+     * @throws IllegalArgumentException if value is negative
+     */
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative: " + value);
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length * 2);
+        }
+        int slot = slot(key, keys.length);
+        while (values[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        if (values[slot] == 0) {
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value + 1;
+    }
+
+    /** Returns the value for the key, or -1 if the key is not in the map. */
+    int get(long key) {
+        int slot = slot(key, keys.length);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot] - 1;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slot(oldKeys[i], capacity);
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /** Spreads the bits of the key, since OSM ids are often sequential. */
+    private static int slot(long key, int capacity) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (capacity - 1);
+    }
+}
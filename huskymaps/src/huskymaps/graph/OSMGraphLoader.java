@@ -41,7 +41,7 @@ import java.util.zip.GZIPInputStream;
 class OSMGraphLoader extends DefaultHandler {
 
     /** Only allow for non-service roads; this prevents going on pedestrian streets. */
-    private static final Set<String> ALLOWED_HIGHWAY_TYPES = Set.of(
+    static final Set<String> ALLOWED_HIGHWAY_TYPES = Set.of(
             "motorway", "trunk", "primary", "secondary", "tertiary", "unclassified", "residential",
             "living_street", "motorway_link", "trunk_link", "primary_link", "secondary_link",
             "tertiary_link"
@@ -70,7 +70,7 @@ class OSMGraphLoader extends DefaultHandler {
      * @param s Input string.
      * @return Cleaned string.
      */
-    private static String normalize(String s) {
+    static String normalize(String s) {
         return s.strip()
                 .replace('“', '"')
                 .replace('”', '"')
@@ -99,21 +99,24 @@ class OSMGraphLoader extends DefaultHandler {
         try {
             SAXParserFactory factory = SAXParserFactory.newInstance();
             SAXParser saxParser = factory.newSAXParser();
-            Map<String, Integer> places;
-            try {
-                Reader fileReader = new InputStreamReader(placesStream);
-                places = new Gson().fromJson(fileReader, new TypeToken<HashMap<String, Integer>>() {}.getType());
-            } catch (NullPointerException e) {
-                e.printStackTrace();
-                places = Map.of();
-            }
-            OSMGraphLoader handler = new OSMGraphLoader(g, places);
+            OSMGraphLoader handler = new OSMGraphLoader(g, readPlaces(placesStream));
             saxParser.parse(new GZIPInputStream(osmGzipStream), handler);
         } catch (ParserConfigurationException | SAXException | IOException e) {
             e.printStackTrace();
         }
     }
 
+    /** Reads the importance of each place from a JSON object mapping place names to importances. */
+    static Map<String, Integer> readPlaces(InputStream placesStream) {
+        try {
+            Reader fileReader = new InputStreamReader(placesStream);
+            return new Gson().fromJson(fileReader, new TypeToken<HashMap<String, Integer>>() {}.getType());
+        } catch (NullPointerException e) {
+            e.printStackTrace();
+            return Map.of();
+        }
+    }
+
     /**
      * Called at the beginning of an element.
      * @param uri The Namespace URI, or the empty string if the element has no Namespace URI or
@@ -175,7 +178,6 @@ class OSMGraphLoader extends DefaultHandler {
                     Node to = this.nodes.get(nodePath.remove());
                     assert to != null;
                     g.addWeightedEdge(from, to, wayName);
-                    g.addWeightedEdge(to, from, wayName);
                     from = to;
                 }
             }
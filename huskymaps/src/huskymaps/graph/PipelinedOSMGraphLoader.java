@@ -0,0 +1,304 @@
+package huskymaps.graph;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+import static huskymaps.graph.OSMGraphLoader.ALLOWED_HIGHWAY_TYPES;
+import static huskymaps.graph.OSMGraphLoader.normalize;
+
+/**
+ * A faster version of {@link OSMGraphLoader} that splits loading into two stages running on
+ * separate threads. A tokenizer thread decompresses and parses the XML, copying the few attributes
+ * we need into batches of primitive arrays, while the calling thread takes each batch off a
+ * bounded queue and builds its nodes and edges. Batches are handed back to the tokenizer once
+ * they're built, so the pipeline allocates almost nothing besides the graph itself.
+ *
+ * Nodes and edges are added to the graph in the same order as OSMGraphLoader adds them, so both
+ * loaders build identical graphs.
+ */
+class PipelinedOSMGraphLoader {
+    /** The number of nodes or ways in each batch. */
+    private static final int BATCH_SIZE = 4096;
+    /** The number of batches that can be waiting to be built before the tokenizer blocks. */
+    private static final int QUEUE_CAPACITY = 8;
+
+    private enum Kind { NODES, WAYS, END }
+
+    private enum State { NONE, NODE, WAY }
+
+    /**
+     * A run of consecutive nodes or ways. Node i has ids[i], lats[i], lons[i], and names[i];
+     * way i has names[i] and the node ids in refs from wayEnds[i - 1] (or 0) up to wayEnds[i].
+     */
+    private static class Batch {
+        Kind kind = Kind.NODES;
+        int size;
+        final long[] ids = new long[BATCH_SIZE];
+        final double[] lats = new double[BATCH_SIZE];
+        final double[] lons = new double[BATCH_SIZE];
+        final String[] names = new String[BATCH_SIZE];
+        final int[] wayEnds = new int[BATCH_SIZE];
+        long[] refs = new long[BATCH_SIZE * 8];
+        int refCount;
+
+        boolean isFull() {
+            return size == BATCH_SIZE;
+        }
+
+        void addRef(long ref) {
+            if (refCount == refs.length) {
+                refs = Arrays.copyOf(refs, refs.length * 2);
+            }
+            refs[refCount] = ref;
+            refCount++;
+        }
+
+        void clear() {
+            Arrays.fill(names, 0, size, null);
+            size = 0;
+            refCount = 0;
+        }
+    }
+
+    private final StreetMapGraph g;
+    private final Map<String, Integer> places;
+    private final BlockingQueue<Batch> full = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<Batch> free = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 2);
+    /** Maps OSM node ids to indices in nodes. */
+    private final LongIntMap nodeIndices = new LongIntMap(1 << 16);
+    private final List<Node> nodes = new ArrayList<>();
+    /** An unchecked exception thrown by the tokenizer, to be rethrown on the calling thread. */
+    private volatile RuntimeException tokenizerFailure;
+
+    private PipelinedOSMGraphLoader(StreetMapGraph g, Map<String, Integer> places) {
+        this.g = g;
+        this.places = places;
+        for (int i = 0; i < QUEUE_CAPACITY + 2; i++) {
+            free.add(new Batch());
+        }
+    }
+
+    /** Initializes a graph from an OSM file. Assumes files are correctly formatted. */
+    public static void populateGraph(StreetMapGraph g, InputStream osmGzipStream, InputStream placesStream) {
+        new PipelinedOSMGraphLoader(g, OSMGraphLoader.readPlaces(placesStream)).load(osmGzipStream);
+    }
+
+    private void load(InputStream osmGzipStream) {
+        Thread tokenizer = new Thread(() -> tokenize(osmGzipStream), "osm-tokenizer");
+        tokenizer.setDaemon(true);
+        tokenizer.start();
+        try {
+            while (true) {
+                Batch batch = full.take();
+                if (batch.kind == Kind.END) {
+                    break;
+                }
+                if (batch.kind == Kind.NODES) {
+                    buildNodes(batch);
+                } else {
+                    buildWays(batch);
+                }
+                batch.clear();
+                free.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // stops the tokenizer if building failed partway through
+            tokenizer.interrupt();
+        }
+        if (tokenizerFailure != null) {
+            throw tokenizerFailure;
+        }
+    }
+
+    private void buildNodes(Batch batch) {
+        for (int i = 0; i < batch.size; i++) {
+            Node.Builder builder = g.nodeBuilder()
+                .setId(batch.ids[i])
+                .setLat(batch.lats[i])
+                .setLon(batch.lons[i]);
+            if (batch.names[i] != null) {
+                String name = normalize(batch.names[i]);
+                builder.setName(name).setImportance(places.getOrDefault(name, 0));
+            }
+            Node node = builder.createNode();
+            nodeIndices.put(node.id(), nodes.size());
+            nodes.add(node);
+            g.addNode(node);
+        }
+    }
+
+    private void buildWays(Batch batch) {
+        int start = 0;
+        for (int i = 0; i < batch.size; i++) {
+            int end = batch.wayEnds[i];
+            String wayName = batch.names[i];
+            Node from = node(batch.refs[start]);
+            for (int r = start + 1; r < end; r++) {
+                Node to = node(batch.refs[r]);
+                g.addWeightedEdge(from, to, wayName);
+                from = to;
+            }
+            start = end;
+        }
+    }
+
+    private Node node(long id) {
+        int index = nodeIndices.get(id);
+        assert index >= 0;
+        return nodes.get(index);
+    }
+
+    /** Runs on the tokenizer thread, and always ends by queueing an END batch. */
+    private void tokenize(InputStream osmGzipStream) {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.newSAXParser().parse(new GZIPInputStream(osmGzipStream, 1 << 16), new Tokenizer());
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                e.printStackTrace();
+            }
+        } catch (RuntimeException e) {
+            tokenizerFailure = e;
+        } finally {
+            Batch end = new Batch();
+            end.kind = Kind.END;
+            try {
+                full.put(end);
+            } catch (InterruptedException e) {
+                // the calling thread has stopped taking batches
+            }
+        }
+    }
+
+    /**
+     * Copies nodes and valid ways out of the XML into batches, in the order they appear. Uses the
+     * same rules as OSMGraphLoader to decide what to keep.
+     */
+    private class Tokenizer extends DefaultHandler {
+        private State state = State.NONE;
+        private Batch batch;
+        private long id;
+        private double lat;
+        private double lon;
+        private String nodeName;
+        private boolean validWay;
+        private String wayName;
+        /** The index in batch.refs of the current way's first node id. */
+        private int wayStart;
+
+        Tokenizer() throws SAXException {
+            batch = takeFree();
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            switch (qName) {
+                case "node":
+                    state = State.NODE;
+                    id = Long.parseLong(attributes.getValue("id"));
+                    lat = Double.parseDouble(attributes.getValue("lat"));
+                    lon = Double.parseDouble(attributes.getValue("lon"));
+                    nodeName = null;
+                    break;
+                case "way":
+                    state = State.WAY;
+                    validWay = false;
+                    wayName = "";
+                    startBatch(Kind.WAYS);
+                    wayStart = batch.refCount;
+                    break;
+                case "nd":
+                    if (state == State.WAY) {
+                        batch.addRef(Long.parseLong(attributes.getValue("ref")));
+                    }
+                    break;
+                case "tag":
+                    if (state == State.WAY) {
+                        String k = attributes.getValue("k");
+                        if (k.equals("highway")) {
+                            validWay = ALLOWED_HIGHWAY_TYPES.contains(attributes.getValue("v"));
+                        } else if (k.equals("name")) {
+                            wayName = attributes.getValue("v");
+                        }
+                    } else if (state == State.NODE && attributes.getValue("k").equals("name")) {
+                        nodeName = attributes.getValue("v");
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (qName.equals("way")) {
+                if (validWay && batch.refCount > wayStart) {
+                    batch.wayEnds[batch.size] = batch.refCount;
+                    batch.names[batch.size] = wayName;
+                    batch.size++;
+                } else {
+                    batch.refCount = wayStart;
+                }
+                state = State.NONE;
+            } else if (qName.equals("node")) {
+                startBatch(Kind.NODES);
+                batch.ids[batch.size] = id;
+                batch.lats[batch.size] = lat;
+                batch.lons[batch.size] = lon;
+                batch.names[batch.size] = nodeName;
+                batch.size++;
+                state = State.NONE;
+            }
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            if (batch.size > 0) {
+                send();
+            }
+        }
+
+        /** Makes sure the current batch has room for another element of the given kind. */
+        private void startBatch(Kind kind) throws SAXException {
+            if (batch.size > 0 && (batch.kind != kind || batch.isFull())) {
+                send();
+            }
+            batch.kind = kind;
+        }
+
+        private void send() throws SAXException {
+            try {
+                full.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SAXException(e);
+            }
+            batch = takeFree();
+        }
+
+        private Batch takeFree() throws SAXException {
+            try {
+                return free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SAXException(e);
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package huskymaps.graph;
 
-import graphpathfinding.AStarGraph;
+import graphpathfinding.ReversibleAStarGraph;
 import graphpathfinding.WeightedEdge;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -15,7 +17,7 @@ import java.util.Set;
 
 import static huskymaps.utils.Spatial.greatCircleDistance;
 
-public class StreetMapGraph implements AStarGraph<Node> {
+public class StreetMapGraph implements ReversibleAStarGraph<Node> {
     protected Map<Node, Set<WeightedEdge<Node>>> neighbors = new HashMap<>();
     protected List<Node> nodes = new ArrayList<>();
 
@@ -43,6 +45,40 @@ public class StreetMapGraph implements AStarGraph<Node> {
         return graph;
     }
 
+    /**
+     * Creates a new StreetMapGraph from the data in the specified resources, parsing and building
+     * the graph on separate threads. Builds the same graph as fromResources, but faster.
+     */
+    public static StreetMapGraph fromResourcesPipelined(String osmGzipResourceName, String placesResourceName) {
+        return fromStreamsPipelined(
+            StreetMapGraph.class.getResourceAsStream(osmGzipResourceName),
+            StreetMapGraph.class.getResourceAsStream(placesResourceName)
+        );
+    }
+
+    /**
+     * Creates a new StreetMapGraph from the data in the specified input streams, parsing and
+     * building the graph on separate threads. Builds the same graph as fromStreams, but faster.
+     */
+    public static StreetMapGraph fromStreamsPipelined(InputStream osmGzip, InputStream places) {
+        StreetMapGraph graph = new StreetMapGraph();
+        PipelinedOSMGraphLoader.populateGraph(graph, osmGzip, places);
+        return graph;
+    }
+
+    /**
+     * Creates a new CompactStreetMapGraph from a snapshot file written by {@link GraphSnapshot}.
+     * This is much faster than parsing the OSM data the snapshot was built from.
+     * @throws UncheckedIOException if the snapshot can't be read
+     */
+    public static StreetMapGraph fromSnapshot(File snapshotFile) {
+        try {
+            return GraphSnapshot.read(snapshotFile.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /** Returns a list of outgoing edges for V. Assumes V exists in this graph. */
     @Override
     public Set<WeightedEdge<Node>> neighbors(Node v) {
@@ -54,6 +90,15 @@ public class StreetMapGraph implements AStarGraph<Node> {
         }
     }
 
+    /**
+     * Returns the outgoing edges for V, since addWeightedEdge adds every road in both directions and
+     * so the reversed graph is the same as the graph.
+     */
+    @Override
+    public Set<WeightedEdge<Node>> reverseNeighbors(Node v) {
+        return neighbors(v);
+    }
+
     @Override
     public double estimatedDistanceToGoal(Node v, Node goal) {
         return greatCircleDistance(Coordinate.fromNode(v), Coordinate.fromNode(goal));
@@ -64,17 +109,25 @@ public class StreetMapGraph implements AStarGraph<Node> {
         return Collections.unmodifiableList(nodes);
     }
 
-    /** Adds an edge to this graph, using distance as the weight. */
+    /**
+     * Adds a road between the two nodes to this graph, using distance as the weight. Like every
+     * road, it is added in both directions.
+     */
     protected void addWeightedEdge(Node from, Node to, String name) {
         double weight = greatCircleDistance(Coordinate.fromNode(from), Coordinate.fromNode(to));
-        neighbors.computeIfAbsent(from, k -> new HashSet<>())
-            .add(new WeightedEdge<>(from, to, weight, name));
+        addWeightedEdge(from, to, weight, name);
     }
 
-    /** Adds an edge to this graph. */
+    /**
+     * Adds a road between the two nodes to this graph, as an edge in each direction. Edges are only
+     * ever added in pairs like this, so the graph is always symmetric, which reverseNeighbors
+     * relies on.
+     */
     protected void addWeightedEdge(Node from, Node to, double weight, String name) {
         neighbors.computeIfAbsent(from, k -> new HashSet<>())
             .add(new WeightedEdge<>(from, to, weight, name));
+        neighbors.computeIfAbsent(to, k -> new HashSet<>())
+            .add(new WeightedEdge<>(to, from, weight, name));
     }
 
     /** Adds a node to this graph. */
@@ -14,7 +14,8 @@ import spark.Route;
  */
 public abstract class APIRouteHandler<Req, Res> implements Route {
 
-    private Gson gson;
+    /** Gson instances are immutable and thread-safe, so one is shared by every request. */
+    private final Gson gson;
 
     public APIRouteHandler() {
         gson = new GsonBuilder()
@@ -52,4 +53,9 @@ public abstract class APIRouteHandler<Req, Res> implements Route {
     protected Object buildJsonResponse(Res result) {
         return gson.toJson(result);
     }
+
+    /** Returns the Gson instance used to build responses, for handlers that write JSON themselves. */
+    protected Gson gson() {
+        return gson;
+    }
 }
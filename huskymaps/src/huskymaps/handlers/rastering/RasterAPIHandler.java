@@ -5,32 +5,71 @@ import huskymaps.handlers.APIRouteHandler;
 import huskymaps.rastering.Rasterer;
 import huskymaps.rastering.Tile;
 import huskymaps.rastering.TileGrid;
+import huskymaps.utils.BoundedCache;
 import spark.Request;
 import spark.Response;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
 import java.util.Base64;
-import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import static huskymaps.utils.Constants.HALT_RESPONSE;
 import static huskymaps.utils.Constants.IMG_ROOT;
 import static huskymaps.utils.Constants.MAX_DEPTH;
+import static huskymaps.utils.Constants.RESULT_CACHE_BYTES;
+import static huskymaps.utils.Constants.TILE_CACHE_BYTES;
 import static huskymaps.utils.Constants.TILE_SIZE;
+import static spark.Spark.halt;
 
 /**
  * Handles requests from the web browser for map images. These images will be
  * rastered into one large image to be displayed to the user.
  */
 public class RasterAPIHandler extends APIRouteHandler<RasterRequest, RenderedRasterResult> {
+    private static final Logger LOGGER = Logger.getLogger(RasterAPIHandler.class.getName());
 
     private final Rasterer rasterer;
-    // Render the result as an image if successful
+    /** Decoded tile images, weighed by the size of their pixel data in bytes. */
+    private final BoundedCache<Tile, BufferedImage> tiles;
+    /**
+     * Fully rendered results for grids that were requested recently, weighed by the size of their
+     * encoded images in bytes. TileGrids returned by the rasterer are never modified, so they are
+     * safe to use as keys.
+     */
+    private final BoundedCache<TileGrid, RenderedRasterResult> results;
 
     public RasterAPIHandler(Rasterer rasterer) {
+        this(rasterer, TILE_CACHE_BYTES, RESULT_CACHE_BYTES);
+    }
+
+    /**
+     * Creates a handler that keeps up to the given numbers of bytes of decoded tile images and of
+     * rendered results in memory, so that tiles shared by successive requests are only read and
+     * decoded once, and repeated requests for the same grid are only rendered once.
+     */
+    public RasterAPIHandler(Rasterer rasterer, long tileCacheBytes, long resultCacheBytes) {
         this.rasterer = rasterer;
+        this.tiles = new BoundedCache<>(tileCacheBytes, RasterAPIHandler::imageBytes);
+        this.results = new BoundedCache<>(resultCacheBytes, RasterAPIHandler::resultBytes);
+    }
+
+    /** Returns the tile cache, so its statistics can be inspected. */
+    public BoundedCache<Tile, BufferedImage> tileCache() {
+        return tiles;
+    }
+
+    /** Returns the rendered result cache, so its statistics can be inspected. */
+    public BoundedCache<TileGrid, RenderedRasterResult> resultCache() {
+        return results;
     }
 
     @Override
@@ -39,7 +78,10 @@ public class RasterAPIHandler extends APIRouteHandler<RasterRequest, RenderedRas
     }
 
     /**
-     * Takes a user query and finds the grid of images that best matches the query.
+     * Takes a user query and finds the grid of images that best matches the query. Unless the
+     * query asks for tiles only, the grid is also rendered into a single image. If a tile can't be
+     * read or the image can't be encoded, the request halts and nothing is cached, so the next
+     * request for the same grid tries again.
      * @param request RasterRequest
      * @param response Ignored
      * @return RenderedRasterResult
@@ -49,18 +91,27 @@ public class RasterAPIHandler extends APIRouteHandler<RasterRequest, RenderedRas
         Coordinate ul = new Coordinate(request.ullat, request.ullon);
         Coordinate lr = new Coordinate(request.lrlat, request.lrlon);
         TileGrid raster = rasterer.rasterizeMap(ul, lr, Math.min(request.depth, MAX_DEPTH));
-        if (raster.grid != null) {
-            BufferedImage image = render(raster);
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            try {
-                ImageIO.write(image, "png", os);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            return new RenderedRasterResult(raster, Base64.getEncoder().encodeToString(os.toByteArray()));
-        } else {
+        if (raster.grid == null || request.tilesOnly) {
             return new RenderedRasterResult(raster);
         }
+        try {
+            return results.get(raster, this::renderResult);
+        } catch (UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Unable to render " + raster, e);
+            halt(HALT_RESPONSE, "Request failed: unable to render map.");
+        }
+        return null;
+    }
+
+    private RenderedRasterResult renderResult(TileGrid raster) {
+        BufferedImage image = render(raster);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", os);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode the rendered image", e);
+        }
+        return new RenderedRasterResult(raster, Base64.getEncoder().encodeToString(os.toByteArray()));
     }
 
     private BufferedImage render(TileGrid result) {
@@ -90,13 +141,38 @@ public class RasterAPIHandler extends APIRouteHandler<RasterRequest, RenderedRas
     }
 
     private BufferedImage getTile(Tile name) {
+        return tiles.get(name, this::readTile);
+    }
+
+    /**
+     * Returns the decoded image of the given tile.
+     * @throws UncheckedIOException if the tile's file is missing or can't be read or decoded
+     */
+    protected BufferedImage readTile(Tile name) {
         String path = IMG_ROOT + name;
-        BufferedImage tile = null;
+        URL url = getClass().getResource(path);
+        if (url == null) {
+            throw new UncheckedIOException(new FileNotFoundException(path));
+        }
         try {
-            tile = ImageIO.read(Objects.requireNonNull(getClass().getResource(path)));
-        } catch (IOException | NullPointerException e) {
-            e.printStackTrace();
+            BufferedImage tile = ImageIO.read(url);
+            if (tile == null) {
+                throw new IOException("Unable to decode " + path);
+            }
+            return tile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return tile;
+    }
+
+    /** Returns the approximate number of bytes used by the given result, which is mostly its image. */
+    private static long resultBytes(RenderedRasterResult result) {
+        return result.image == null ? 0 : result.image.length();
+    }
+
+    /** Returns the number of bytes used by the pixel data of the given image. */
+    private static long imageBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
     }
 }
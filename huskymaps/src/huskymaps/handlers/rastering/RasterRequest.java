@@ -21,6 +21,11 @@ public final class RasterRequest {
     public final double lrlon;
     /** The browser's requested depth. */
     public final int depth;
+    /**
+     * True if only the grid of tiles is needed. Browsers that fetch the tiles themselves from the
+     * tile API set the optional "tiles_only" parameter so the server doesn't render an image.
+     */
+    public final boolean tilesOnly;
 
     /**
      * Return a RasterRequest with the required parameters.
@@ -34,7 +39,8 @@ public final class RasterRequest {
                     (double) request.get("ullon"),
                     (double) request.get("lrlat"),
                     (double) request.get("lrlon"),
-                    (int) request.get("depth")
+                    (int) request.get("depth"),
+                    (boolean) request.getOrDefault("tiles_only", false)
                     );
         } catch (NullPointerException e) {
             halt(HALT_RESPONSE, "Request failed: parameter not found.");
@@ -54,7 +60,8 @@ public final class RasterRequest {
                         Double.parseDouble(request.queryParams("ullon")),
                         Double.parseDouble(request.queryParams("lrlat")),
                         Double.parseDouble(request.queryParams("lrlon")),
-                        Integer.parseInt(request.queryParams("depth"))
+                        Integer.parseInt(request.queryParams("depth")),
+                        Boolean.parseBoolean(request.queryParams("tiles_only"))
                         );
         } catch (NullPointerException e) {
             halt(HALT_RESPONSE, "Request failed: parameter not found.");
@@ -66,12 +73,13 @@ public final class RasterRequest {
     }
 
     /** Use the from factory method to avoid misplacing parameters. */
-    private RasterRequest(double ullat, double ullon, double lrlat, double lrlon, int depth) {
+    private RasterRequest(double ullat, double ullon, double lrlat, double lrlon, int depth, boolean tilesOnly) {
         this.ullat = ullat;
         this.ullon = ullon;
         this.lrlat = lrlat;
         this.lrlon = lrlon;
         this.depth = depth;
+        this.tilesOnly = tilesOnly;
     }
 
     @Override
@@ -87,7 +95,8 @@ public final class RasterRequest {
                 Precision.equals(that.ullon, ullon, EPSILON) &&
                 Precision.equals(that.lrlat, lrlat, EPSILON) &&
                 Precision.equals(that.lrlon, lrlon, EPSILON) &&
-                depth == that.depth;
+                depth == that.depth &&
+                tilesOnly == that.tilesOnly;
     }
 
     @Override
@@ -97,7 +106,8 @@ public final class RasterRequest {
                 Precision.round(ullon, DECIMAL_PLACES),
                 Precision.round(lrlat, DECIMAL_PLACES),
                 Precision.round(lrlon, DECIMAL_PLACES),
-                depth
+                depth,
+                tilesOnly
         );
     }
 
@@ -109,6 +119,7 @@ public final class RasterRequest {
                 ", lrlat=" + lrlat +
                 ", lrlon=" + lrlon +
                 ", depth=" + depth +
+                ", tilesOnly=" + tilesOnly +
                 '}';
     }
 }
@@ -1,8 +1,10 @@
 package huskymaps.handlers.rastering;
 
+import huskymaps.rastering.Tile;
 import huskymaps.rastering.TileGrid;
 import org.apache.commons.math3.util.Precision;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import static huskymaps.utils.Constants.DECIMAL_PLACES;
@@ -11,8 +13,10 @@ import static huskymaps.utils.Constants.EPSILON;
 /** The computed and fully-rendered rastering result in response to a browser request. */
 public class RenderedRasterResult {
 
-    /** The base-64 encoded string of the image. */
+    /** The base-64 encoded string of the image, or null if only the tiles were requested. */
     public final String image;
+    /** The grid of tiles making up the image, which can be fetched individually from the tile API. */
+    public final Tile[][] tiles;
     /** The bounding upper-left, lower-right latitudes and longitudes of the final image. */
     public final double ullat;
     public final double ullon;
@@ -24,6 +28,7 @@ public class RenderedRasterResult {
     /** Construct a new RenderedRasterResult with the given parameters. */
     public RenderedRasterResult(TileGrid result, String image) {
         this.image = image;
+        this.tiles = result.grid;
         this.ullat = result.ullat;
         this.ullon = result.ullon;
         this.lrlat = result.lrlat;
@@ -50,7 +55,8 @@ public class RenderedRasterResult {
                 Precision.equals(that.lrlat, lrlat, EPSILON) &&
                 Precision.equals(that.lrlon, lrlon, EPSILON) &&
                 success == that.success &&
-                Objects.equals(image, that.image);
+                Objects.equals(image, that.image) &&
+                Arrays.deepEquals(tiles, that.tiles);
     }
 
     @Override
@@ -68,6 +74,7 @@ public class RenderedRasterResult {
     public String toString() {
         return "RenderedRasterResult{"
                 + "image"
+                + ", tiles=" + Arrays.deepToString(tiles)
                 + ", ullat=" + ullat
                 + ", ullon=" + ullon
                 + ", lrlat=" + lrlat
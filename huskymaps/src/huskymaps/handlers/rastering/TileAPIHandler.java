@@ -0,0 +1,138 @@
+package huskymaps.handlers.rastering;
+
+import huskymaps.handlers.APIRouteHandler;
+import huskymaps.rastering.Tile;
+import huskymaps.utils.BoundedCache;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import static huskymaps.utils.Constants.HALT_RESPONSE;
+import static huskymaps.utils.Constants.IMG_ROOT;
+import static huskymaps.utils.Constants.NOT_FOUND_RESPONSE;
+import static huskymaps.utils.Constants.NOT_MODIFIED_RESPONSE;
+import static huskymaps.utils.Constants.TILE_FILE_CACHE_BYTES;
+import static huskymaps.utils.Constants.TILE_MAX_AGE_SECONDS;
+import static spark.Spark.halt;
+
+/**
+ * Handles requests from the web browser for individual map tiles. Tiles are served as the original
+ * JPEG files, without decoding or re-encoding them, so the browser can cache each one and only
+ * download the tiles it hasn't seen before as the user pans around the map.
+ */
+public class TileAPIHandler extends APIRouteHandler<TileRequest, byte[]> {
+    private static final Logger LOGGER = Logger.getLogger(TileAPIHandler.class.getName());
+    private static final byte[] EMPTY = new byte[0];
+
+    /** The bytes of recently requested tile files, weighed by their length. */
+    private final BoundedCache<Tile, TileFile> tiles;
+
+    public TileAPIHandler() {
+        this(TILE_FILE_CACHE_BYTES);
+    }
+
+    /** Creates a handler that keeps up to the given number of bytes of tile files in memory. */
+    public TileAPIHandler(long tileCacheBytes) {
+        this.tiles = new BoundedCache<>(tileCacheBytes, file -> file.bytes.length);
+    }
+
+    /** Returns the tile file cache, so its statistics can be inspected. */
+    public BoundedCache<Tile, TileFile> tileCache() {
+        return tiles;
+    }
+
+    @Override
+    protected TileRequest parseRequest(Request request) {
+        return TileRequest.from(request);
+    }
+
+    /**
+     * Returns the bytes of the requested tile, or no bytes if the browser's copy is up to date.
+     * Halts with a 404 if there is no such tile, or a 500 if its file can't be read, in which case
+     * nothing is cached and the next request tries again.
+     * @param request TileRequest
+     * @param response Used to set the content type, caching headers, and status
+     * @return the tile file's contents
+     */
+    @Override
+    protected byte[] processRequest(TileRequest request, Response response) {
+        TileFile file;
+        try {
+            file = tiles.get(request.tile, this::loadTile);
+        } catch (UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Unable to read tile " + request.tile, e);
+            halt(HALT_RESPONSE, "Request failed: unable to read tile.");
+            return null;
+        }
+        if (file == null) {
+            halt(NOT_FOUND_RESPONSE, "Request failed: tile not found.");
+        }
+        response.type("image/jpeg");
+        response.header("Cache-Control", "public, max-age=" + TILE_MAX_AGE_SECONDS);
+        response.header("ETag", file.etag);
+        if (file.matches(request.ifNoneMatch)) {
+            response.status(NOT_MODIFIED_RESPONSE);
+            return EMPTY;
+        }
+        return file.bytes;
+    }
+
+    /** Returns the bytes unchanged, since Spark writes byte arrays to the response as-is. */
+    @Override
+    protected Object buildJsonResponse(byte[] result) {
+        return result;
+    }
+
+    private TileFile loadTile(Tile tile) {
+        byte[] bytes = readTile(tile);
+        return bytes == null ? null : new TileFile(bytes);
+    }
+
+    /**
+     * Returns the contents of the given tile's file, or null if there is no such file.
+     * @throws UncheckedIOException if the file exists but can't be read
+     */
+    protected byte[] readTile(Tile tile) {
+        try (InputStream in = getClass().getResourceAsStream(IMG_ROOT + tile)) {
+            if (in == null) {
+                return null;
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The contents of a tile file and an ETag computed from them. */
+    public static class TileFile {
+        final byte[] bytes;
+        final String etag;
+
+        TileFile(byte[] bytes) {
+            this.bytes = bytes;
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            this.etag = "\"" + Long.toHexString(crc.getValue()) + "-" + bytes.length + "\"";
+        }
+
+        /** Returns true if the given If-None-Match header value includes this file's ETag. */
+        boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
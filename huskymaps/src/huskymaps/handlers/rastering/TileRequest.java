@@ -0,0 +1,102 @@
+package huskymaps.handlers.rastering;
+
+import huskymaps.rastering.Tile;
+import spark.Request;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static huskymaps.utils.Constants.HALT_RESPONSE;
+import static huskymaps.utils.Constants.MAX_DEPTH;
+import static huskymaps.utils.Constants.NOT_FOUND_RESPONSE;
+import static huskymaps.utils.Constants.NUM_X_TILES_AT_DEPTH;
+import static huskymaps.utils.Constants.NUM_Y_TILES_AT_DEPTH;
+import static spark.Spark.halt;
+
+/** Represents a request for a single map tile received from the browser. */
+public final class TileRequest {
+
+    /** The requested tile. */
+    public final Tile tile;
+    /** The ETags of the browser's cached copies of the tile, or null if it has none. */
+    public final String ifNoneMatch;
+
+    /**
+     * Return a TileRequest with the required parameters.
+     * @param request Map containing the required parameters
+     * @return A populated TileRequest
+     */
+    public static TileRequest from(Map<String, Object> request) {
+        try {
+            return new TileRequest(
+                    tile((int) request.get("depth"), (int) request.get("x"), (int) request.get("y")),
+                    (String) request.get("if_none_match")
+                    );
+        } catch (NullPointerException e) {
+            halt(HALT_RESPONSE, "Request failed: parameter not found.");
+        }
+        return null;
+    }
+
+    /**
+     * Returns a TileRequest with the required parameters.
+     * @param request Spark Request
+     * @return A populated TileRequest
+     */
+    public static TileRequest from(Request request) {
+        try {
+            return new TileRequest(
+                    tile(Integer.parseInt(request.queryParams("depth")),
+                         Integer.parseInt(request.queryParams("x")),
+                         Integer.parseInt(request.queryParams("y"))),
+                    request.headers("If-None-Match")
+                    );
+        } catch (NumberFormatException e) {
+            // Integer.parseInt(null) also throws a NumberFormatException
+            halt(HALT_RESPONSE, "Request failed: parameter not found or unable to parse value.");
+        }
+        return null;
+    }
+
+    /** Returns the given tile, halting with a 404 if it is outside the map. */
+    private static Tile tile(int depth, int x, int y) {
+        if (depth < 0 || depth > MAX_DEPTH
+                || x < 0 || x >= NUM_X_TILES_AT_DEPTH[depth]
+                || y < 0 || y >= NUM_Y_TILES_AT_DEPTH[depth]) {
+            halt(NOT_FOUND_RESPONSE, "Request failed: tile is outside the map.");
+        }
+        return new Tile(depth, x, y);
+    }
+
+    /** Use the from factory method to avoid misplacing parameters. */
+    private TileRequest(Tile tile, String ifNoneMatch) {
+        this.tile = tile;
+        this.ifNoneMatch = ifNoneMatch;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TileRequest that = (TileRequest) o;
+        return tile.equals(that.tile) &&
+                Objects.equals(ifNoneMatch, that.ifNoneMatch);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tile, ifNoneMatch);
+    }
+
+    @Override
+    public String toString() {
+        return "TileRequest{" +
+                "tile=" + tile +
+                ", ifNoneMatch=" + ifNoneMatch +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package huskymaps.handlers.routing;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import spark.Request;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static huskymaps.utils.Constants.HALT_RESPONSE;
+import static huskymaps.utils.Constants.MAX_BATCH_ROUTES;
+import static spark.Spark.halt;
+
+/**
+ * Represents a request for many routes at once, received as a JSON array in the request body.
+ * Each element has the same parameters as a single route request, like
+ * {"start_lat": 47.65, "start_lon": -122.31, "end_lat": 47.61, "end_lon": -122.33}.
+ */
+public final class BatchRouteRequest {
+    private static final Type BODY_TYPE = new TypeToken<List<Map<String, Double>>>() {}.getType();
+
+    /** The routes to find, in the order they were given. */
+    public final List<RouteRequest> routes;
+
+    /**
+     * Return a BatchRouteRequest with the required parameters.
+     * @param request List of Maps, each containing the required parameters for one route
+     * @return A populated BatchRouteRequest
+     */
+    public static BatchRouteRequest from(List<Map<String, Double>> request) {
+        if (request == null) {
+            halt(HALT_RESPONSE, "Request failed: no routes given.");
+        }
+        if (request.size() > MAX_BATCH_ROUTES) {
+            halt(HALT_RESPONSE, "Request failed: more than " + MAX_BATCH_ROUTES + " routes requested.");
+        }
+        List<RouteRequest> routes = new ArrayList<>(request.size());
+        for (Map<String, Double> route : request) {
+            if (route == null) {
+                halt(HALT_RESPONSE, "Request failed: parameter not found.");
+            }
+            routes.add(RouteRequest.from(route));
+        }
+        return new BatchRouteRequest(Collections.unmodifiableList(routes));
+    }
+
+    /**
+     * Returns a BatchRouteRequest with the routes in the request body.
+     * @param request Spark Request
+     * @return A populated BatchRouteRequest
+     */
+    public static BatchRouteRequest from(Request request) {
+        try {
+            return from(new Gson().<List<Map<String, Double>>>fromJson(request.body(), BODY_TYPE));
+        } catch (JsonParseException e) {
+            halt(HALT_RESPONSE, "Request failed: unable to parse routes.");
+        }
+        return null;
+    }
+
+    /** Use the from factory methods to avoid misplacing parameters. */
+    private BatchRouteRequest(List<RouteRequest> routes) {
+        this.routes = routes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BatchRouteRequest that = (BatchRouteRequest) o;
+        return routes.equals(that.routes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(routes);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRouteRequest{" +
+                "routes=" + routes +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package huskymaps.handlers.routing;
+
+import java.util.Objects;
+
+/**
+ * One line of the response to a batch routing request: either the route found for one of the
+ * requested routes, or the reason it couldn't be found.
+ */
+public class BatchRouteResult {
+
+    /** The position of the route in the batch request. */
+    public final int index;
+    /** The route, or null if there was an error. */
+    public final RouteResult route;
+    /** The error message, or null if the route was found. */
+    public final String error;
+
+    /**
+     * Constructs a BatchRouteResult instance.
+     * @param index The index field.
+     * @param route The route field.
+     * @param error The error field.
+     */
+    public BatchRouteResult(int index, RouteResult route, String error) {
+        this.index = index;
+        this.route = route;
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BatchRouteResult that = (BatchRouteResult) o;
+        return index == that.index &&
+            Objects.equals(route, that.route) &&
+            Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, route, error);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRouteResult{" +
+            "index=" + index +
+            ", route=" + route +
+            ", error='" + error + '\'' +
+            '}';
+    }
+}
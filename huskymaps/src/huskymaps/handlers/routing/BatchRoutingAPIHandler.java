@@ -0,0 +1,140 @@
+package huskymaps.handlers.routing;
+
+import huskymaps.handlers.APIRouteHandler;
+import huskymaps.routing.Router;
+import spark.HaltException;
+import spark.Request;
+import spark.Response;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static huskymaps.utils.Constants.BATCH_ROUTING_THREADS;
+
+/**
+ * Handles POST requests for many routes at once, such as a nightly replay of origin/destination
+ * pairs that would otherwise take one request per route.
+ *
+ * The routes are found in parallel on a fixed pool of threads shared by every batch, all using the
+ * same router (which is safe to share, since it only reads the graph and keeps its search state per
+ * thread). Each batch only has a few routes waiting in the pool at a time, so one large batch can't
+ * starve the others. Results are streamed back as newline-delimited JSON, one BatchRouteResult per
+ * line, in the order the routes finish rather than the order they were requested.
+ */
+public class BatchRoutingAPIHandler extends APIRouteHandler<BatchRouteRequest, Void> {
+    private static final Logger LOGGER = Logger.getLogger(BatchRoutingAPIHandler.class.getName());
+    private static final String ROUTE_FAILED = "Request failed: unable to find route.";
+
+    private final RoutingAPIHandler routing;
+    private final ExecutorService executor;
+    /** The most routes from one batch that may be waiting in or running on the pool at once. */
+    private final int maxInFlight;
+
+    public BatchRoutingAPIHandler(Router router) {
+        this(router, Executors.newFixedThreadPool(BATCH_ROUTING_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "batch-routing");
+            // don't keep the server running just for these threads
+            thread.setDaemon(true);
+            return thread;
+        }), 2 * BATCH_ROUTING_THREADS);
+    }
+
+    /** Creates a handler that finds routes on the given executor, with up to maxInFlight per batch. */
+    public BatchRoutingAPIHandler(Router router, ExecutorService executor, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.routing = new RoutingAPIHandler(router);
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    protected BatchRouteRequest parseRequest(Request request) {
+        return BatchRouteRequest.from(request);
+    }
+
+    /**
+     * Finds each requested route, writing the results to the response as they finish.
+     * @param request BatchRouteRequest
+     * @param response Used to set the content type and write the results
+     * @return null, since the results have already been written
+     */
+    @Override
+    protected Void processRequest(BatchRouteRequest request, Response response) {
+        response.type("application/x-ndjson");
+        try {
+            writeRoutes(request.routes, response.raw().getOutputStream());
+        } catch (IOException e) {
+            // the client went away, so there's no one left to send the rest of the routes to
+        }
+        return null;
+    }
+
+    /** Returns an empty body, since the results have already been written to the response. */
+    @Override
+    protected Object buildJsonResponse(Void result) {
+        return "";
+    }
+
+    /**
+     * Finds each of the given routes, writing one JSON BatchRouteResult per line to out as each one
+     * finishes. Routes that haven't started yet are cancelled if writing fails.
+     */
+    void writeRoutes(List<RouteRequest> routes, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CompletionService<BatchRouteResult> completed = new ExecutorCompletionService<>(executor);
+        List<Future<BatchRouteResult>> futures = new ArrayList<>(routes.size());
+        try {
+            for (int done = 0; done < routes.size(); done++) {
+                while (futures.size() < routes.size() && futures.size() - done < maxInFlight) {
+                    int index = futures.size();
+                    futures.add(completed.submit(() -> findRoute(index, routes.get(index))));
+                }
+                writer.write(gson().toJson(completed.take().get()));
+                writer.write('\n');
+                // send each line right away instead of when the buffer fills up
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("findRoute should catch every exception", e);
+        } finally {
+            for (Future<BatchRouteResult> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Finds the given route, or returns the reason it couldn't be found. Only the messages of
+     * requests that were rejected with halt are sent to the client; other failures are logged, and
+     * the client gets a generic message that doesn't expose the server's internals.
+     */
+    private BatchRouteResult findRoute(int index, RouteRequest request) {
+        // one bad route shouldn't fail the rest of the batch
+        try {
+            return new BatchRouteResult(index, routing.processRequest(request, null), null);
+        } catch (HaltException e) {
+            return new BatchRouteResult(index, null, e.getBody() != null ? e.getBody() : ROUTE_FAILED);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to find route " + index + " of a batch", e);
+            return new BatchRouteResult(index, null, ROUTE_FAILED);
+        }
+    }
+}
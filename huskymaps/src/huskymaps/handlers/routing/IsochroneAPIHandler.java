@@ -0,0 +1,49 @@
+package huskymaps.handlers.routing;
+
+import huskymaps.graph.Coordinate;
+import huskymaps.graph.Node;
+import huskymaps.handlers.APIRouteHandler;
+import huskymaps.routing.Router;
+import huskymaps.utils.Spatial;
+import spark.Request;
+import spark.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles requests from the web browser for everywhere within a travel distance of a location.
+ * The area is returned as the convex hull of the street map nodes that can be reached.
+ */
+public class IsochroneAPIHandler extends APIRouteHandler<IsochroneRequest, IsochroneResult> {
+
+    private final Router router;
+
+    public IsochroneAPIHandler(Router router) {
+        this.router = router;
+    }
+
+    @Override
+    protected IsochroneRequest parseRequest(Request request) {
+        return IsochroneRequest.from(request);
+    }
+
+    /**
+     * Takes a user query in the form of a (lat/lon) location and a distance, and finds the area
+     * that can be reached from the location by following streets for at most that distance.
+     * @param request IsochroneRequest
+     * @param response Ignored.
+     * @return IsochroneResult
+     */
+    @Override
+    protected IsochroneResult processRequest(IsochroneRequest request, Response response) {
+        Coordinate start = new Coordinate(request.lat, request.lon);
+        List<Node> reached = router.reachableNodes(start, request.distance);
+        List<Coordinate> reachedCoords = new ArrayList<>(reached.size());
+        for (Node node : reached) {
+            reachedCoords.add(Coordinate.fromNode(node));
+        }
+        Coordinate[] hull = Spatial.convexHull(reachedCoords).toArray(new Coordinate[0]);
+        return new IsochroneResult(hull, reached.size());
+    }
+}
@@ -0,0 +1,107 @@
+package huskymaps.handlers.routing;
+
+import org.apache.commons.math3.util.Precision;
+import spark.Request;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static huskymaps.utils.Constants.DECIMAL_PLACES;
+import static huskymaps.utils.Constants.EPSILON;
+import static huskymaps.utils.Constants.HALT_RESPONSE;
+import static huskymaps.utils.Constants.MAX_ISOCHRONE_MILES;
+import static spark.Spark.halt;
+
+/** Represents a request from the browser for the area reachable within a distance of a location. */
+public final class IsochroneRequest {
+
+    /** The latitude and longitude to start from. */
+    public final double lat;
+    public final double lon;
+    /** The length of the longest path to follow, in miles. */
+    public final double distance;
+
+    /**
+     * Return an IsochroneRequest with the required parameters.
+     * @param request Map containing the required parameters
+     * @return A populated IsochroneRequest of input parameter to numerical value
+     */
+    public static IsochroneRequest from(Map<String, Double> request) {
+        try {
+            return checked(new IsochroneRequest(
+                    request.get("lat"),
+                    request.get("lon"),
+                    request.get("distance")
+                    ));
+        } catch (NullPointerException e) {
+            halt(HALT_RESPONSE, "Request failed: parameter not found.");
+        }
+        return null;
+    }
+
+    /**
+     * Returns an IsochroneRequest with the required parameters.
+     * @param request Spark Request
+     * @return A populated IsochroneRequest of input parameter to numerical value
+     */
+    public static IsochroneRequest from(Request request) {
+        try {
+            return checked(new IsochroneRequest(
+                        Double.parseDouble(request.queryParams("lat")),
+                        Double.parseDouble(request.queryParams("lon")),
+                        Double.parseDouble(request.queryParams("distance"))
+                        ));
+        } catch (NullPointerException e) {
+            halt(HALT_RESPONSE, "Request failed: parameter not found.");
+        } catch (NumberFormatException e) {
+            halt(HALT_RESPONSE, "Request failed: unable to parse double.");
+        }
+        return null;
+    }
+
+    /** Halts if the request's distance is negative or would search too much of the graph. */
+    private static IsochroneRequest checked(IsochroneRequest request) {
+        if (!(request.distance >= 0 && request.distance <= MAX_ISOCHRONE_MILES)) {
+            halt(HALT_RESPONSE, "Request failed: distance must be between 0 and " + MAX_ISOCHRONE_MILES + " miles.");
+        }
+        return request;
+    }
+
+    private IsochroneRequest(double lat, double lon, double distance) {
+        this.lat = lat;
+        this.lon = lon;
+        this.distance = distance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IsochroneRequest that = (IsochroneRequest) o;
+        return Precision.equals(that.lat, lat, EPSILON) &&
+                Precision.equals(that.lon, lon, EPSILON) &&
+                Precision.equals(that.distance, distance, EPSILON);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                Precision.round(lat, DECIMAL_PLACES),
+                Precision.round(lon, DECIMAL_PLACES),
+                Precision.round(distance, DECIMAL_PLACES)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "IsochroneRequest{" +
+                "lat=" + lat +
+                ", lon=" + lon +
+                ", distance=" + distance +
+                '}';
+    }
+}
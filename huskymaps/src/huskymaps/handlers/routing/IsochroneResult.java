@@ -0,0 +1,53 @@
+package huskymaps.handlers.routing;
+
+import huskymaps.graph.Coordinate;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/** The computed reachable area in response to a browser request. */
+public class IsochroneResult {
+
+    /** The vertices of the convex hull of the reachable locations, in counterclockwise order. */
+    public final Coordinate[] hull;
+    /** The number of street map nodes that can be reached. */
+    public final int numReached;
+
+    /**
+     * Constructs an IsochroneResult instance.
+     * @param hull The hull field.
+     * @param numReached The numReached field.
+     */
+    public IsochroneResult(Coordinate[] hull, int numReached) {
+        this.hull = hull;
+        this.numReached = numReached;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IsochroneResult that = (IsochroneResult) o;
+        return numReached == that.numReached &&
+            Arrays.equals(hull, that.hull);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(numReached);
+        result = 31 * result + Arrays.hashCode(hull);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IsochroneResult{" +
+            "hull=" + Arrays.toString(hull) +
+            ", numReached=" + numReached +
+            '}';
+    }
+}
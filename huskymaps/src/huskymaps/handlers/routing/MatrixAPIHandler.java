@@ -0,0 +1,36 @@
+package huskymaps.handlers.routing;
+
+import huskymaps.handlers.APIRouteHandler;
+import huskymaps.routing.Router;
+import spark.Request;
+import spark.Response;
+
+/**
+ * Handles requests for tables of travel distances from many locations to many other locations,
+ * such as from each courier to each stop, which would otherwise take one route request per pair.
+ */
+public class MatrixAPIHandler extends APIRouteHandler<MatrixRequest, MatrixResult> {
+
+    private final Router router;
+
+    public MatrixAPIHandler(Router router) {
+        this.router = router;
+    }
+
+    @Override
+    protected MatrixRequest parseRequest(Request request) {
+        return MatrixRequest.from(request);
+    }
+
+    /**
+     * Takes lists of source and target locations, and finds the length of the shortest path from
+     * each source to each target.
+     * @param request MatrixRequest
+     * @param response Ignored.
+     * @return MatrixResult
+     */
+    @Override
+    protected MatrixResult processRequest(MatrixRequest request, Response response) {
+        return new MatrixResult(router.distanceMatrix(request.sources, request.targets));
+    }
+}
@@ -0,0 +1,106 @@
+package huskymaps.handlers.routing;
+
+import huskymaps.graph.Coordinate;
+import spark.Request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static huskymaps.utils.Constants.HALT_RESPONSE;
+import static huskymaps.utils.Constants.MAX_MATRIX_CELLS;
+import static spark.Spark.halt;
+
+/**
+ * Represents a distance matrix request received from the browser. The sources and targets are
+ * each given as a list of locations like "47.65,-122.31;47.61,-122.33" (latitude then longitude,
+ * with semicolons between locations).
+ */
+public final class MatrixRequest {
+
+    /** The locations to start from. */
+    public final List<Coordinate> sources;
+    /** The locations to go to. */
+    public final List<Coordinate> targets;
+
+    /**
+     * Return a MatrixRequest with the required parameters.
+     * @param request Map containing the required parameters
+     * @return A populated MatrixRequest
+     */
+    public static MatrixRequest from(Map<String, String> request) {
+        return from(request.get("sources"), request.get("targets"));
+    }
+
+    /**
+     * Returns a MatrixRequest with the required parameters.
+     * @param request Spark Request
+     * @return A populated MatrixRequest
+     */
+    public static MatrixRequest from(Request request) {
+        return from(request.queryParams("sources"), request.queryParams("targets"));
+    }
+
+    private static MatrixRequest from(String sources, String targets) {
+        if (sources == null || targets == null) {
+            halt(HALT_RESPONSE, "Request failed: parameter not found.");
+        }
+        try {
+            MatrixRequest request = new MatrixRequest(parseCoordinates(sources), parseCoordinates(targets));
+            if ((long) request.sources.size() * request.targets.size() > MAX_MATRIX_CELLS) {
+                halt(HALT_RESPONSE, "Request failed: more than " + MAX_MATRIX_CELLS + " distances requested.");
+            }
+            return request;
+        } catch (NumberFormatException e) {
+            halt(HALT_RESPONSE, "Request failed: unable to parse locations.");
+        }
+        return null;
+    }
+
+    /** Parses a semicolon-separated list of "lat,lon" pairs. */
+    private static List<Coordinate> parseCoordinates(String s) {
+        List<Coordinate> coordinates = new ArrayList<>();
+        for (String location : s.split(";")) {
+            String[] parts = location.split(",");
+            if (parts.length != 2) {
+                throw new NumberFormatException("not a latitude and longitude: " + location);
+            }
+            coordinates.add(new Coordinate(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim())));
+        }
+        return Collections.unmodifiableList(coordinates);
+    }
+
+    /** Use the from factory method to avoid misplacing parameters. */
+    private MatrixRequest(List<Coordinate> sources, List<Coordinate> targets) {
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MatrixRequest that = (MatrixRequest) o;
+        return sources.equals(that.sources) &&
+                targets.equals(that.targets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sources, targets);
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixRequest{" +
+                "sources=" + sources +
+                ", targets=" + targets +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package huskymaps.handlers.routing;
+
+import java.util.Arrays;
+
+/** The computed distance matrix in response to a browser request. */
+public class MatrixResult {
+
+    /**
+     * The length in miles of the shortest path from each source to each target, indexed by source
+     * and then by target, or null where there is no path (JSON has no infinity).
+     */
+    public final Double[][] distances;
+
+    /**
+     * Constructs a MatrixResult from a table of distances.
+     * @param distances The distances, with infinity where there is no path.
+     */
+    public MatrixResult(double[][] distances) {
+        this.distances = new Double[distances.length][];
+        for (int i = 0; i < distances.length; i++) {
+            this.distances[i] = new Double[distances[i].length];
+            for (int j = 0; j < distances[i].length; j++) {
+                this.distances[i][j] = Double.isInfinite(distances[i][j]) ? null : distances[i][j];
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MatrixResult that = (MatrixResult) o;
+        return Arrays.deepEquals(distances, that.distances);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(distances);
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixResult{" +
+            "distances=" + Arrays.deepToString(distances) +
+            '}';
+    }
+}
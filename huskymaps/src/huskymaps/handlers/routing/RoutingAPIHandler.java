@@ -16,7 +16,7 @@ import java.util.List;
  */
 public class RoutingAPIHandler extends APIRouteHandler<RouteRequest, RouteResult> {
 
-    private Router router;
+    private final Router router;
 
     public RoutingAPIHandler(Router router) {
         this.router = router;
@@ -7,20 +7,40 @@ import spark.Response;
 
 import java.util.List;
 
+import static huskymaps.utils.Constants.HALT_RESPONSE;
+import static spark.Spark.halt;
+
 /**
  * Handles search requests from the browser.
  */
 public class SearchAPIHandler extends APIRouteHandler<SearchRequest, List<?>> {
 
-    private Searcher searcher;
+    private final Searcher searcher;
 
     public SearchAPIHandler(Searcher searcher) {
         this.searcher = searcher;
     }
 
+    /**
+     * Returns a SearchRequest for the "term" parameter, which is a full search if there is a "full"
+     * parameter. A prefix search returns every match unless there is a "limit" parameter.
+     */
     @Override
     protected SearchRequest parseRequest(Request request) {
-        return new SearchRequest(request.queryParams("term"), request.queryParams("full") != null);
+        String limit = request.queryParams("limit");
+        if (limit == null) {
+            return new SearchRequest(request.queryParams("term"), request.queryParams("full") != null);
+        }
+        try {
+            int parsed = Integer.parseInt(limit);
+            if (parsed < 0) {
+                halt(HALT_RESPONSE, "Request failed: limit must not be negative.");
+            }
+            return new SearchRequest(request.queryParams("term"), request.queryParams("full") != null, parsed);
+        } catch (NumberFormatException e) {
+            halt(HALT_RESPONSE, "Request failed: unable to parse limit.");
+        }
+        return null;
     }
 
     /**
@@ -35,6 +55,8 @@ public class SearchAPIHandler extends APIRouteHandler<SearchRequest, List<?>> {
     protected List<?> processRequest(SearchRequest request, Response response) {
         if (request.full) {
             return searcher.getLocations(request.term);
+        } else if (request.limit >= 0) {
+            return searcher.getLocationsByPrefix(request.term, request.limit);
         } else {
             return searcher.getLocationsByPrefix(request.term);
         }
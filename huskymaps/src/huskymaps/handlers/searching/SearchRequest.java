@@ -9,10 +9,17 @@ public class SearchRequest {
     public final String term;
     /** Whether this search requires locations or just a list of matches. */
     public final boolean full;
+    /** The most matches to return from a prefix search, or -1 to return all of them. */
+    public final int limit;
 
     public SearchRequest(String term, boolean full) {
+        this(term, full, -1);
+    }
+
+    public SearchRequest(String term, boolean full, int limit) {
         this.term = term;
         this.full = full;
+        this.limit = limit;
     }
 
     @Override
@@ -25,12 +32,13 @@ public class SearchRequest {
         }
         SearchRequest that = (SearchRequest) o;
         return full == that.full &&
+                limit == that.limit &&
                 Objects.equals(term, that.term);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(term, full);
+        return Objects.hash(term, full, limit);
     }
 
     @Override
@@ -38,6 +46,7 @@ public class SearchRequest {
         return "SearchRequest{" +
                 "term='" + term + '\'' +
                 ", full=" + full +
+                ", limit=" + limit +
                 '}';
     }
 }
@@ -2,37 +2,87 @@ package huskymaps.routing;
 
 import graphpathfinding.AStarGraph;
 import graphpathfinding.AStarPathFinder;
+import graphpathfinding.DistanceMatrixFinder;
+import graphpathfinding.IndexedAStarGraph;
+import graphpathfinding.IndexedAStarPathFinder;
+import graphpathfinding.ReachableSetFinder;
 import graphpathfinding.ShortestPathFinder;
 import graphpathfinding.ShortestPathResult;
 import graphpathfinding.WeightedEdge;
+import huskymaps.graph.CompactStreetMapGraph;
 import huskymaps.graph.Coordinate;
 import huskymaps.graph.Node;
 import huskymaps.graph.StreetMapGraph;
+import huskymaps.utils.BoundedCache;
 import pointsets.KDTreePointSet;
 import pointsets.Point;
 import pointsets.PointSet;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import static huskymaps.utils.Constants.ROUTE_CACHE_NODES;
 import static huskymaps.utils.Spatial.projectToPoint;
 
 /**
  * @see Router
  */
 public class DefaultRouter extends Router {
-    private StreetMapGraph graph;
-    private List<NodePoint> allPointsFromGraph;
+    /** The graph to route on, converted to a CompactStreetMapGraph so searches can use arrays. */
+    private final CompactStreetMapGraph graph;
+    /**
+     * Snap-to-road index over every node that has at least one outgoing edge. Built once here and
+     * never modified afterwards, so lookups can be shared by concurrent requests.
+     */
+    private final PointSet<NodePoint> pointSet;
+    /**
+     * The path finders used by each request thread. Path finders keep their search state (arrays
+     * sized to the graph, or a workspace that grows to fit the largest search) between searches,
+     * so each thread reuses one instead of allocating a new one per request.
+     */
+    private final ThreadLocal<ShortestPathFinder<Node>> pathFinders;
+    /**
+     * Routes (and their directions) by their snapped endpoints, since many requests share popular
+     * destinations or repeat a click. The graph never changes, so routes never go stale and are
+     * only evicted to stay within the cache's total number of nodes.
+     */
+    private final BoundedCache<RouteKey, Route> routeCache;
+    /** Runs one Dijkstra search per source of a distance matrix, in parallel. */
+    private final DistanceMatrixFinder<Node> matrixFinder;
+    /**
+     * The bounded searches used by each request thread for reachable sets, which keep arrays sized
+     * to the graph between searches like the path finders do.
+     */
+    private final ThreadLocal<ReachableSetFinder<Node>> reachableSetFinders;
 
     public DefaultRouter(StreetMapGraph graph) {
-        this.graph = graph;
-        this.allPointsFromGraph = new ArrayList<>();
+        this(graph, ROUTE_CACHE_NODES);
+    }
+
+    /**
+     * Creates a router whose route cache holds routes with up to the given total number of nodes.
+     * @throws IllegalArgumentException if routeCacheNodes is negative
+     */
+    public DefaultRouter(StreetMapGraph graph, long routeCacheNodes) {
+        this.routeCache = new BoundedCache<>(routeCacheNodes, route -> route.nodes.size() + 1);
+        if (graph instanceof CompactStreetMapGraph) {
+            this.graph = (CompactStreetMapGraph) graph;
+        } else {
+            this.graph = CompactStreetMapGraph.fromGraph(graph);
+        }
+        this.pathFinders = ThreadLocal.withInitial(() -> createPathFinder(this.graph));
+        this.matrixFinder = new DistanceMatrixFinder<>(this.graph);
+        this.reachableSetFinders = ThreadLocal.withInitial(() -> new ReachableSetFinder<>(this.graph));
+        List<NodePoint> allPointsFromGraph = new ArrayList<>();
         for (Node n : this.graph.allNodes()) {
             if (!this.graph.neighbors(n).isEmpty()) {
                 allPointsFromGraph.add(createNodePoint(n));
             }
         }
+        // the point set takes ownership of (and shuffles) this list, so don't keep a reference
+        this.pointSet = createPointSet(allPointsFromGraph);
     }
 
     @Override
@@ -42,6 +92,9 @@ public class DefaultRouter extends Router {
 
     @Override
     protected <VERTEX> ShortestPathFinder<VERTEX> createPathFinder(AStarGraph<VERTEX> g) {
+        if (g instanceof IndexedAStarGraph) {
+            return new IndexedAStarPathFinder<>((IndexedAStarGraph<VERTEX>) g);
+        }
         return new AStarPathFinder<>(g);
     }
 
@@ -53,78 +106,148 @@ public class DefaultRouter extends Router {
     @Override
     protected Node closest(Coordinate c) {
         // Project to x and y coordinates instead of using raw lat and lon for finding closest points:
-        PointSet<NodePoint> kdNodePoints = createPointSet(allPointsFromGraph);
         Point p = projectToPoint(c, Point::new);
-        NodePoint closestNode = kdNodePoints.nearest(p);
+        NodePoint closestNode = pointSet.nearest(p.x(), p.y());
         return closestNode.node();
     }
 
+    /** Returns the route cache, so its statistics can be inspected. */
+    public BoundedCache<?, ?> routeCache() {
+        return routeCache;
+    }
+
+    /**
+     * Returns the shortest path between the nodes closest to start and end, which is unmodifiable
+     * and may be shared with other requests for the same nodes.
+     */
     @Override
     public List<Node> shortestPath(Coordinate start, Coordinate end) {
         Node src = closest(start);
         Node dest = closest(end);
+        Route route = routeCache.get(new RouteKey(src, dest), this::findRoute);
+        return route == null ? List.of() : route.nodes;
+    }
+
+    @Override
+    public double[][] distanceMatrix(List<Coordinate> sources, List<Coordinate> targets) {
+        List<Node> sourceNodes = new ArrayList<>(sources.size());
+        for (Coordinate c : sources) {
+            sourceNodes.add(closest(c));
+        }
+        List<Node> targetNodes = new ArrayList<>(targets.size());
+        for (Coordinate c : targets) {
+            targetNodes.add(closest(c));
+        }
+        return matrixFinder.distances(sourceNodes, targetNodes);
+    }
 
-        ShortestPathResult<Node> result = createPathFinder(this.graph).
-                                          findShortestPath(src, dest, Duration.ofSeconds(90));
-        return result.solution();
+    @Override
+    public List<Node> reachableNodes(Coordinate start, double maxDistance) {
+        ReachableSetFinder<Node> finder = reachableSetFinders.get();
+        int numReached = finder.search(closest(start), maxDistance);
+        List<Node> nodes = new ArrayList<>(numReached);
+        for (int i = 0; i < numReached; i++) {
+            nodes.add(finder.reached(i));
+        }
+        return nodes;
+    }
+
+    private Route findRoute(RouteKey key) {
+        ShortestPathResult<Node> result = pathFinders.get()
+            .findShortestPath(key.start, key.end, Duration.ofSeconds(90));
+        if (result.isTimedOut()) {
+            // don't cache a route that a less busy server might still find
+            return null;
+        }
+        List<Node> nodes = Collections.unmodifiableList(result.solution());
+        return new Route(nodes, Collections.unmodifiableList(computeDirections(result.solutionEdges())));
     }
 
+    /**
+     * Returns the directions for the given route, which are looked up in the route cache if the
+     * route came from it, and are shared with other requests for the same route in that case.
+     * @throws IllegalArgumentException if there's no edge between two consecutive nodes of the route
+     */
     @Override
     public List<NavigationDirection> routeDirections(List<Node> route) {
-        List<Double> directionAngle = new ArrayList<>();
-        for (int i = 0; i < route.size() - 1; i++) {
-            Node start = route.get(i);
-            Node end = route.get(i + 1);
-            directionAngle.add(getAngle(start, end));
+        if (!route.isEmpty()) {
+            Route cached = routeCache.getIfPresent(new RouteKey(route.get(0), route.get(route.size() - 1)));
+            if (cached != null && cached.nodes.equals(route)) {
+                return cached.directions;
+            }
         }
+        return computeDirections(edgesAlong(route));
+    }
 
-        List<NavigationDirection> results = new ArrayList<>();
-        if (route.size() >= 2) {
-            WeightedEdge<Node> edge = getEdge(route.get(0), route.get(1));
-            int currDirection = NavigationDirection.STRAIGHT;
-            String currWayName = edge.name();
-            double currDistance = edge.weight();
-
-            for (int i = 0; i < directionAngle.size() - 1; i++) {
-                int dir = NavigationDirection.getDirection(directionAngle.get(i), directionAngle.get(i + 1));
-                edge = getEdge(route.get(i + 1), route.get(i + 2));
-                if (currWayName.equals(edge.name()) && (dir == NavigationDirection.SLIGHT_LEFT
-                    || dir == NavigationDirection.SLIGHT_RIGHT || dir == NavigationDirection.STRAIGHT)) {
-                    currDistance += edge.weight();
-                } else {
-                    NavigationDirection currNav = new NavigationDirection();
-                    currNav.way = currWayName;
-                    currNav.distance = currDistance;
-                    if (results.isEmpty()) {
-                        currNav.direction = NavigationDirection.START;
-                    } else {
-                        currNav.direction = currDirection;
+    /** Returns the edges between consecutive nodes of the given route. */
+    private List<WeightedEdge<Node>> edgesAlong(List<Node> route) {
+        List<WeightedEdge<Node>> edges = new ArrayList<>(Math.max(route.size() - 1, 0));
+        for (int i = 0; i + 1 < route.size(); i++) {
+            int from = graph.indexOf(route.get(i));
+            int to = graph.indexOf(route.get(i + 1));
+            int match = -1;
+            if (from != -1) {
+                for (int edge = graph.edgeStart(from); edge < graph.edgeEnd(from); edge++) {
+                    if (graph.edgeTarget(edge) == to) {
+                        match = edge;
+                        break;
                     }
-                    results.add(currNav);
-
-                    currDirection = dir;
-                    currDistance = edge.weight();
-                    currWayName = edge.name();
                 }
             }
-
-            NavigationDirection finalNav = new NavigationDirection();
-            finalNav.way = currWayName;
-            finalNav.distance = currDistance;
-            finalNav.direction = currDirection;
-            results.add(finalNav);
+            if (match == -1) {
+                throw new IllegalArgumentException("No edge from " + route.get(i) + " to " + route.get(i + 1));
+            }
+            edges.add(graph.edge(from, match));
         }
-        return results;
+        return edges;
     }
 
-    private WeightedEdge<Node> getEdge(Node n1, Node n2) {
-        WeightedEdge<Node> matchEdge = null;
-        for (WeightedEdge<Node> edge : this.graph.neighbors(n1)) {
-            if (n2 == edge.to()) {
-                matchEdge = edge;
+    /**
+     * Returns the directions for following the given edges in order, in one pass that compares the
+     * angle of each edge to the angle of the one before it.
+     */
+    private List<NavigationDirection> computeDirections(List<WeightedEdge<Node>> edges) {
+        List<NavigationDirection> results = new ArrayList<>();
+        if (edges.isEmpty()) {
+            return results;
+        }
+        WeightedEdge<Node> edge = edges.get(0);
+        int currDirection = NavigationDirection.STRAIGHT;
+        String currWayName = edge.name();
+        double currDistance = edge.weight();
+        double prevAngle = getAngle(edge.from(), edge.to());
+
+        for (int i = 1; i < edges.size(); i++) {
+            edge = edges.get(i);
+            double angle = getAngle(edge.from(), edge.to());
+            int dir = NavigationDirection.getDirection(prevAngle, angle);
+            prevAngle = angle;
+            if (currWayName.equals(edge.name()) && (dir == NavigationDirection.SLIGHT_LEFT
+                || dir == NavigationDirection.SLIGHT_RIGHT || dir == NavigationDirection.STRAIGHT)) {
+                currDistance += edge.weight();
+            } else {
+                NavigationDirection currNav = new NavigationDirection();
+                currNav.way = currWayName;
+                currNav.distance = currDistance;
+                if (results.isEmpty()) {
+                    currNav.direction = NavigationDirection.START;
+                } else {
+                    currNav.direction = currDirection;
+                }
+                results.add(currNav);
+
+                currDirection = dir;
+                currDistance = edge.weight();
+                currWayName = edge.name();
             }
         }
-        return matchEdge;
+
+        NavigationDirection finalNav = new NavigationDirection();
+        finalNav.way = currWayName;
+        finalNav.distance = currDistance;
+        finalNav.direction = currDirection;
+        results.add(finalNav);
+        return results;
     }
 
     private double getAngle(Node start, Node end) {
@@ -134,4 +257,43 @@ public class DefaultRouter extends Router {
         }
         return degree;
     }
+
+    /** The snapped endpoints of a route. */
+    private static class RouteKey {
+        final Node start;
+        final Node end;
+
+        RouteKey(Node start, Node end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            RouteKey that = (RouteKey) o;
+            return start.equals(that.start) && end.equals(that.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * start.hashCode() + end.hashCode();
+        }
+    }
+
+    /** A cached route, with its directions. */
+    private static class Route {
+        final List<Node> nodes;
+        final List<NavigationDirection> directions;
+
+        Route(List<Node> nodes, List<NavigationDirection> directions) {
+            this.nodes = nodes;
+            this.directions = directions;
+        }
+    }
 }
@@ -37,6 +37,25 @@ public abstract class Router {
      */
     public abstract List<Node> shortestPath(Coordinate start, Coordinate end);
 
+    /**
+     * Returns a table of the lengths of the shortest paths between the nodes closest to each
+     * source location and the nodes closest to each target location.
+     * @param sources The locations to start from.
+     * @param targets The locations to go to.
+     * @return A table where entry [i][j] is the length of the shortest path from the ith source to
+     *         the jth target, or infinity if there is no such path.
+     */
+    public abstract double[][] distanceMatrix(List<Coordinate> sources, List<Coordinate> targets);
+
+    /**
+     * Returns every node that can be reached from the node closest to a start location by a path of
+     * at most the given length.
+     * @param start The location to start from.
+     * @param maxDistance The length of the longest path to follow, in miles.
+     * @return The reached nodes, in order of increasing distance from the start.
+     */
+    public abstract List<Node> reachableNodes(Coordinate start, double maxDistance);
+
     /**
      * Creates the list of directions corresponding to a route on the graph.
      * @param route The route to translate into directions. Each element
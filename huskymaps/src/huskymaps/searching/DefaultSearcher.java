@@ -1,26 +1,66 @@
 package huskymaps.searching;
 
 import autocomplete.Autocomplete;
+import autocomplete.CaseFolding;
 import autocomplete.DefaultTerm;
 import autocomplete.Term;
 import huskymaps.graph.Node;
 import huskymaps.graph.StreetMapGraph;
+import huskymaps.utils.BoundedCache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static huskymaps.utils.Constants.PREFIX_CACHE_TERMS;
 
 /**
+ * A searcher whose indexes are built once, from a snapshot of the graph's nodes, and never modified
+ * afterwards, so it may be shared by any number of request threads without locking.
+ *
+ * Exact-name lookups use a hash index from each name to the nodes with that name, so they take time
+ * proportional to the number of matches rather than the number of nodes in the graph.
+ *
+ * Since users type one character at a time, the full results of prefix searches are kept in a
+ * bounded cache, keyed by the case-folded prefix. A prefix that isn't cached is answered by
+ * filtering the results for the longest cached prefix of it, when there is one, which keeps their
+ * order and avoids searching and sorting all of the terms again.
+ *
  * @see Searcher
  */
 public class DefaultSearcher extends Searcher {
-    private Autocomplete autocompleteObject;
-    private List<Node> allNodes;
+    private final Autocomplete autocompleteObject;
+    /** A copy of the graph's nodes, so later changes to a mutable graph can't be seen by searches. */
+    private final Node[] nodes;
+    /** Maps each distinct node name to its position in nameOffsets. */
+    private final Map<String, Integer> nameSlots;
+    /**
+     * The indices in nodes of the nodes with each name: those for the name in slot s are stored in
+     * namedNodes[nameOffsets[s]] through namedNodes[nameOffsets[s + 1] - 1], in graph order.
+     */
+    private final int[] nameOffsets;
+    private final int[] namedNodes;
+    /** The matches for each recently searched case-folded prefix, from the heaviest to the lightest. */
+    private final BoundedCache<String, Term[]> prefixCache;
+    private final AtomicLong parentHits = new AtomicLong();
 
     public DefaultSearcher(StreetMapGraph graph) {
-        this.allNodes = graph.allNodes();
-        Set<Node> allNodesNoDuplicate = new HashSet<>(this.allNodes);
+        this(graph, PREFIX_CACHE_TERMS);
+    }
+
+    /**
+     * Creates a searcher whose prefix cache holds results with up to the given total number of terms.
+     * @throws IllegalArgumentException if prefixCacheTerms is negative
+     */
+    public DefaultSearcher(StreetMapGraph graph, long prefixCacheTerms) {
+        this.prefixCache = new BoundedCache<>(prefixCacheTerms, terms -> terms.length + 1);
+        this.nodes = graph.allNodes().toArray(new Node[0]);
+        Set<Node> allNodesNoDuplicate = new HashSet<>(Arrays.asList(this.nodes));
 
         List<Term> tmp = new ArrayList<>();
         for (Node n : allNodesNoDuplicate) {
@@ -30,6 +70,30 @@ public class DefaultSearcher extends Searcher {
         }
         Term[] terms = tmp.toArray(Term[]::new);
         this.autocompleteObject = createAutocomplete(terms);
+
+        // number the distinct names, then group the node indices by name like an adjacency array
+        this.nameSlots = new HashMap<>();
+        int[] slots = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            String name = nodes[i].name();
+            slots[i] = name == null ? -1 : nameSlots.computeIfAbsent(name, unused -> nameSlots.size());
+        }
+        this.nameOffsets = new int[nameSlots.size() + 1];
+        for (int slot : slots) {
+            if (slot >= 0) {
+                nameOffsets[slot + 1]++;
+            }
+        }
+        for (int slot = 0; slot < nameSlots.size(); slot++) {
+            nameOffsets[slot + 1] += nameOffsets[slot];
+        }
+        this.namedNodes = new int[nameOffsets[nameSlots.size()]];
+        int[] next = Arrays.copyOf(nameOffsets, nameSlots.size());
+        for (int i = 0; i < nodes.length; i++) {
+            if (slots[i] >= 0) {
+                namedNodes[next[slots[i]]++] = i;
+            }
+        }
     }
 
     @Override
@@ -44,22 +108,122 @@ public class DefaultSearcher extends Searcher {
 
     @Override
     public List<String> getLocationsByPrefix(String prefix) { // no duplicate
-        Term[] resultTerms = autocompleteObject.findMatchesForPrefix(prefix);
-        List<String> locations = new ArrayList<>();
+        Term[] resultTerms = prefix.isEmpty()
+            // every term matches, so there's nothing to gain from caching or filtering
+            ? autocompleteObject.findMatchesForPrefix(prefix)
+            : prefixCache.get(CaseFolding.fold(prefix), this::findMatchesForPrefix);
+        List<String> locations = new ArrayList<>(resultTerms.length);
         for (Term rTerm : resultTerms) {
             locations.add(rTerm.query());
         }
         return locations;
     }
 
+    /**
+     * Returns the start of the cached results for the prefix, filtering a cached shorter prefix's
+     * results (and caching them) if only those are cached. If neither is cached, only the heaviest
+     * few matches are found, instead of sorting all of them, and nothing is cached: full results
+     * are cached by unlimited searches.
+     */
     @Override
-    public List<Node> getLocations(String locationName) { // allow duplicates
-        List<Node> matchLocations = new ArrayList<>();
-        for (Node n : this.allNodes) {
-            if (n.name() != null && n.name().equals(locationName)) {
-                matchLocations.add(n);
+    public List<String> getLocationsByPrefix(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        String key = CaseFolding.fold(prefix);
+        Term[] resultTerms;
+        if (hasCachedPrefixOf(key)) {
+            Term[] matches = prefixCache.get(key, this::findMatchesForPrefix);
+            resultTerms = Arrays.copyOf(matches, Math.min(limit, matches.length));
+        } else {
+            resultTerms = autocompleteObject.findTopMatchesForPrefix(prefix, limit);
+        }
+        List<String> locations = new ArrayList<>(resultTerms.length);
+        for (Term rTerm : resultTerms) {
+            locations.add(rTerm.query());
+        }
+        return locations;
+    }
+
+    /** Returns true if the results for the given key, or for a nonempty prefix of it, are cached. */
+    private boolean hasCachedPrefixOf(String key) {
+        for (int length = key.length(); length > 0; length--) {
+            if (prefixCache.getIfPresent(key.substring(0, length)) != null) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /** Returns the matches for the given case-folded prefix, filtering a cached shorter prefix's if possible. */
+    private Term[] findMatchesForPrefix(String key) {
+        for (int length = key.length() - 1; length > 0; length--) {
+            Term[] parent = prefixCache.getIfPresent(key.substring(0, length));
+            if (parent != null) {
+                parentHits.incrementAndGet();
+                List<Term> matches = new ArrayList<>();
+                for (Term term : parent) {
+                    if (term.matchesPrefix(key) == 0) {
+                        matches.add(term);
+                    }
+                }
+                return matches.toArray(new Term[0]);
+            }
+        }
+        return autocompleteObject.findMatchesForPrefix(key);
+    }
+
+    /** Returns the cache of prefix search results, whose hit and miss counts show how well it works. */
+    public BoundedCache<?, ?> prefixCache() {
+        return prefixCache;
+    }
+
+    /** Returns the number of prefix cache misses that were answered from a shorter cached prefix. */
+    public long parentHits() {
+        return parentHits.get();
+    }
+
+    @Override
+    public List<Node> getLocations(String locationName) { // allow duplicates
+        Integer slot = nameSlots.get(locationName);
+        if (slot == null) {
+            return new ArrayList<>();
+        }
+        List<Node> matchLocations = new ArrayList<>(nameOffsets[slot + 1] - nameOffsets[slot]);
+        for (int i = nameOffsets[slot]; i < nameOffsets[slot + 1]; i++) {
+            matchLocations.add(nodes[namedNodes[i]]);
+        }
         return matchLocations;
     }
+
+    /**
+     * Returns an estimate of the number of bytes used by the index behind getLocations, assuming a
+     * 64-bit JVM with compressed references. The Node objects and their names, which are shared
+     * with the graph, are not counted.
+     */
+    public long estimatedBytes() {
+        int names = nameSlots.size();
+        long bytes = arrayBytes(nodes.length, 4)
+            + arrayBytes(nameOffsets.length, 4)
+            + arrayBytes(namedNodes.length, 4)
+            + 48;
+        if (names > 0) {
+            // HashMap allocates its table on the first insertion, with 16 slots, and doubles it
+            // whenever the entries would fill more than 3/4 of it
+            int tableLength = 16;
+            while (tableLength * 0.75 < names) {
+                tableLength *= 2;
+            }
+            bytes += arrayBytes(tableLength, 4);
+        }
+        // each entry, plus the boxed slot number for slots outside the Integer cache
+        bytes += 32L * names + 16L * Math.max(0, names - 128);
+        return bytes;
+    }
+
+    /** Returns the size of an array with the given length and element size, rounded up to 8 bytes. */
+    private static long arrayBytes(int length, int elementSize) {
+        long bytes = 16 + (long) length * elementSize;
+        return (bytes + 7) / 8 * 8;
+    }
 }
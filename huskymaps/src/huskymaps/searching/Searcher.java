@@ -22,6 +22,22 @@ public abstract class Searcher {
      */
     public abstract List<String> getLocationsByPrefix(String prefix);
 
+    /**
+     * Collects the names of up to <code>limit</code> locations that prefix-match the query string,
+     * in the same order as {@link #getLocationsByPrefix(String)}.
+     * @param prefix Prefix string to be searched for.
+     * @param limit The most names to return.
+     * @return A <code>List</code> of full names of the first matching locations.
+     * @throws IllegalArgumentException if <code>limit</code> is negative
+     */
+    public List<String> getLocationsByPrefix(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        List<String> locations = getLocationsByPrefix(prefix);
+        return locations.subList(0, Math.min(limit, locations.size()));
+    }
+
     /**
      * Collects all locations that match a cleaned <code>locationName</code>, and return
      * information about each node that matches.
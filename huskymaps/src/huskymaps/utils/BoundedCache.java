@@ -0,0 +1,197 @@
+package huskymaps.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe cache that holds values up to a total weight (such as a number of bytes), evicting
+ * the least recently used values when it grows past that weight.
+ *
+ * Values are created on demand by a loader function. If several threads ask for the same missing
+ * key at once, only one of them runs the loader and the rest wait for its result. Null values are
+ * returned to every waiting thread but are not cached, and neither are exceptions thrown by the
+ * loader, so both will be retried by the next request for that key.
+ *
+ * Lookups of cached keys don't lock. Eviction is done in batches: once the cache is over its
+ * maximum weight, it evicts values in least recently used order until it is back down to 90% of
+ * that weight, so that a full cache doesn't have to scan its entries on every insertion.
+ */
+public class BoundedCache<K, V> {
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates an empty cache that holds values up to the given total weight, where the weight of
+     * each value is computed by the given function.
+     * @throws IllegalArgumentException if maxWeight is negative
+     */
+    public BoundedCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("maxWeight must not be negative: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Creates an empty cache that holds up to the given number of values.
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public static <K, V> BoundedCache<K, V> withMaxSize(long maxSize) {
+        return new BoundedCache<>(maxSize, v -> 1);
+    }
+
+    /**
+     * Returns the value for the given key, using the loader to create it if it isn't cached.
+     * Any exception thrown by the loader is rethrown to every thread waiting on it.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            Entry<V> created = new Entry<>();
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return load(key, created, loader);
+            }
+        }
+        hits.incrementAndGet();
+        entry.lastAccess = clock.incrementAndGet();
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            // rethrow whatever the loading thread's loader threw
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private V load(K key, Entry<V> entry, Function<? super K, ? extends V> loader) {
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+        if (value == null) {
+            entries.remove(key, entry);
+        } else {
+            entry.weight = weigher.applyAsLong(value);
+            entry.lastAccess = clock.incrementAndGet();
+            weight.addAndGet(entry.weight);
+        }
+        entry.value.complete(value);
+        if (weight.get() > maxWeight) {
+            evict();
+        }
+        return value;
+    }
+
+    /** Evicts values in least recently used order until the cache is below its low-water mark. */
+    private synchronized void evict() {
+        if (weight.get() <= maxWeight) {
+            return;
+        }
+        List<Map.Entry<K, Entry<V>>> loaded = new ArrayList<>();
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            if (e.getValue().value.isDone()) {
+                loaded.add(e);
+            }
+        }
+        loaded.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        long target = maxWeight - maxWeight / 10;
+        for (Map.Entry<K, Entry<V>> e : loaded) {
+            if (weight.get() <= target) {
+                break;
+            }
+            if (entries.remove(e.getKey(), e.getValue())) {
+                weight.addAndGet(-e.getValue().weight);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /** Returns the cached value for the given key, or null if it isn't cached or is still loading. */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || !entry.value.isDone() || entry.value.isCompletedExceptionally()) {
+            return null;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value.join();
+    }
+
+    /** Removes every value from the cache. The hit, miss, and eviction counts are not reset. */
+    public synchronized void clear() {
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            if (e.getValue().value.isDone() && entries.remove(e.getKey(), e.getValue())) {
+                weight.addAndGet(-e.getValue().weight);
+            }
+        }
+    }
+
+    /** Returns the number of values in the cache, including ones that are still loading. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Returns the total weight of the values in the cache. */
+    public long weight() {
+        return weight.get();
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    /** Returns the number of lookups that found their key already in the cache (or loading). */
+    public long hits() {
+        return hits.get();
+    }
+
+    /** Returns the number of lookups that had to load their value. */
+    public long misses() {
+        return misses.get();
+    }
+
+    /** Returns the number of values that were removed to keep the cache under its maximum weight. */
+    public long evictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{" +
+            "size=" + size() +
+            ", weight=" + weight() +
+            ", maxWeight=" + maxWeight +
+            ", hits=" + hits() +
+            ", misses=" + misses() +
+            ", evictions=" + evictions() +
+            '}';
+    }
+
+    private static class Entry<V> {
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        volatile long lastAccess;
+        volatile long weight;
+    }
+}
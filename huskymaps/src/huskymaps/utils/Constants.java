@@ -75,12 +75,39 @@ public class Constants {
 
     /** The tile image resources are in the IMG_ROOT folder. */
     public static final String IMG_ROOT = "/tiles/";
+    /** Default memory budget for decoded tile images, in bytes (about 1300 RGB tiles). */
+    public static final long TILE_CACHE_BYTES = 256L * 1024 * 1024;
+    /** Default memory budget for rendered raster results, in bytes of Base64-encoded PNG. */
+    public static final long RESULT_CACHE_BYTES = 64L * 1024 * 1024;
+    /** Default memory budget for the encoded tile files served by the tile API, in bytes. */
+    public static final long TILE_FILE_CACHE_BYTES = 64L * 1024 * 1024;
+    /**
+     * Default size of the router's route cache, in total nodes along the cached routes (each of
+     * which costs a reference in the route and a few bytes of its directions).
+     */
+    public static final long ROUTE_CACHE_NODES = 1_000_000;
+    /** Default size of the searcher's prefix cache, in total terms across the cached results. */
+    public static final long PREFIX_CACHE_TERMS = 1_000_000;
+    /** The most distances (sources times targets) that one distance matrix request may ask for. */
+    public static final int MAX_MATRIX_CELLS = 100_000;
+    /** The most routes that one batch routing request may ask for. */
+    public static final int MAX_BATCH_ROUTES = 10_000;
+    /** The number of threads shared by all batch routing requests. */
+    public static final int BATCH_ROUTING_THREADS = Runtime.getRuntime().availableProcessors();
+    /** The longest distance, in miles, that one isochrone request may search out to. */
+    public static final double MAX_ISOCHRONE_MILES = 10;
+    /** How long browsers may reuse a tile from the tile API before checking for a new one. */
+    public static final int TILE_MAX_AGE_SECONDS = 24 * 60 * 60;
     public static final int MIN_ZOOM_LEVEL = 10;
     public static final int[] MIN_X_TILE_AT_DEPTH = {163, 326, 652, 1304, 2608, 5216, 10432, 20864};
     public static final int[] MIN_Y_TILE_AT_DEPTH = {357, 714, 1428, 2856, 5712, 11424, 22848, 45696};
 
     /** HTTP failed response. */
     public static final int HALT_RESPONSE = 500;
+    /** HTTP response for requests for things that don't exist. */
+    public static final int NOT_FOUND_RESPONSE = 404;
+    /** HTTP response telling the browser that its cached copy is still up to date. */
+    public static final int NOT_MODIFIED_RESPONSE = 304;
 
     /** Default port for serving the application locally. */
     public static final int PORT = 8080;
@@ -2,6 +2,10 @@ package huskymaps.utils;
 
 import huskymaps.graph.Coordinate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.function.BiFunction;
 
 import static huskymaps.utils.Constants.K0;
@@ -24,10 +28,19 @@ public class Spatial {
      * @source https://www.movable-type.co.uk/scripts/latlong.html
      */
     public static double greatCircleDistance(Coordinate v, Coordinate w) {
-        double lonV = v.lon();
-        double lonW = w.lon();
-        double latV = v.lat();
-        double latW = w.lat();
+        return greatCircleDistance(v.lat(), v.lon(), w.lat(), w.lon());
+    }
+
+    /**
+     * Returns the great-circle (haversine) distance between geographic coordinates.
+     * @param latV  The latitude of the first vertex.
+     * @param lonV  The longitude of the first vertex.
+     * @param latW  The latitude of the second vertex.
+     * @param lonW  The longitude of the second vertex.
+     * @return The great-circle distance between the two vertices.
+     * @source https://www.movable-type.co.uk/scripts/latlong.html
+     */
+    public static double greatCircleDistance(double latV, double lonV, double latW, double lonW) {
         double phi1 = Math.toRadians(latV);
         double phi2 = Math.toRadians(latW);
         double dphi = Math.toRadians(latW - latV);
@@ -83,4 +96,61 @@ public class Spatial {
         x -= Math.sin(phi1) * Math.cos(phi2) * Math.cos(lambda2 - lambda1);
         return Math.toDegrees(Math.atan2(y, x));
     }
+
+    /**
+     * Returns the vertices of the smallest convex polygon containing all the given coordinates, in
+     * counterclockwise order without repeating the first vertex. The hull is computed on projected
+     * points (with Andrew's monotone chain algorithm), so it is convex on the map as drawn.
+     * @param coordinates The coordinates to enclose.
+     * @return The hull's vertices, which are some of the given coordinates (all of the distinct ones
+     *         if there are fewer than three).
+     */
+    public static List<Coordinate> convexHull(List<Coordinate> coordinates) {
+        int n = coordinates.size();
+        double[][] points = new double[n][];
+        for (int i = 0; i < n; i++) {
+            Coordinate c = coordinates.get(i);
+            double[] point = projectToPoint(c, (x, y) -> new double[]{x, y, 0});
+            // remember which coordinate each point came from, since the points get sorted
+            point[2] = i;
+            points[i] = point;
+        }
+        Arrays.sort(points, Comparator.<double[]>comparingDouble(p -> p[0]).thenComparingDouble(p -> p[1]));
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || points[i][0] != points[distinct - 1][0] || points[i][1] != points[distinct - 1][1]) {
+                points[distinct++] = points[i];
+            }
+        }
+        n = distinct;
+
+        // the lower hull from left to right, then the upper hull from right to left
+        double[][] hull = new double[2 * n][];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            while (size >= 2 && cross(hull[size - 2], hull[size - 1], points[i]) <= 0) {
+                size--;
+            }
+            hull[size++] = points[i];
+        }
+        for (int i = n - 2, lowerSize = size + 1; i >= 0; i--) {
+            while (size >= lowerSize && cross(hull[size - 2], hull[size - 1], points[i]) <= 0) {
+                size--;
+            }
+            hull[size++] = points[i];
+        }
+        // the last point added is the first point again
+        size = Math.max(size - 1, Math.min(n, 1));
+
+        List<Coordinate> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(coordinates.get((int) hull[i][2]));
+        }
+        return result;
+    }
+
+    /** Returns the cross product of the vectors from o to a and from o to b, which is positive for a left turn. */
+    private static double cross(double[] o, double[] a, double[] b) {
+        return (a[0] - o[0]) * (b[1] - o[1]) - (a[1] - o[1]) * (b[0] - o[0]);
+    }
 }
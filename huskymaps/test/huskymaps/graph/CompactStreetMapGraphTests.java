@@ -0,0 +1,100 @@
+package huskymaps.graph;
+
+import edu.washington.cse373.BaseTest;
+import graphpathfinding.WeightedEdge;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static huskymaps.TestConstants.TEST_DATA_ROOT;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CompactStreetMapGraphTests extends BaseTest {
+    private static final File OSM_DB_PATH_TINY = TEST_DATA_ROOT.resolve("tiny.osm.gz").toFile();
+    private StreetMapGraph graph;
+    private CompactStreetMapGraph compact;
+
+    @BeforeAll
+    void setUp() {
+        graph = StreetMapGraph.fromFileAndResource(OSM_DB_PATH_TINY, PLACES_RESOURCE_NAME);
+        compact = CompactStreetMapGraph.fromGraph(graph);
+    }
+
+    @Test
+    void allNodes_matchesOriginalGraph() {
+        assertThat(compact.allNodes()).containsExactlyElementsOf(graph.allNodes());
+    }
+
+    @Test
+    void neighbors_matchOriginalGraphInSameOrder() {
+        for (Node node : graph.allNodes()) {
+            assertThat(describe(compact.neighbors(node))).containsExactlyElementsOf(describe(graph.neighbors(node)));
+        }
+    }
+
+    @Test
+    void indexOf_roundTripsEveryNode() {
+        for (int i = 0; i < compact.numVertices(); i++) {
+            assertThat(compact.indexOf(compact.vertex(i))).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void edgeAccessors_matchNeighbors() {
+        for (int i = 0; i < compact.numVertices(); i++) {
+            Node from = compact.vertex(i);
+            int e = compact.edgeStart(i);
+            for (WeightedEdge<Node> edge : graph.neighbors(from)) {
+                assertThat(compact.vertex(compact.edgeTarget(e))).isSameAs(edge.to());
+                assertThat(compact.edgeWeight(e)).isEqualTo(edge.weight());
+                assertThat(compact.edgeName(e)).isEqualTo(edge.name());
+                e++;
+            }
+            assertThat(e).isEqualTo(compact.edgeEnd(i));
+        }
+    }
+
+    @Test
+    void reverseNeighbors_containEveryIncomingEdgeReversed() {
+        for (StreetMapGraph g : List.of(graph, compact)) {
+            for (Node from : g.allNodes()) {
+                for (WeightedEdge<Node> edge : g.neighbors(from)) {
+                    assertThat(describe(g.reverseNeighbors(edge.to())))
+                        .contains(edge.to().id() + "->" + from.id() + " " + edge.weight() + " " + edge.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void addWeightedEdge_addsBothDirections() {
+        StreetMapGraph g = new StreetMapGraph();
+        Node a = new Node(1, 47.65, -122.30, null, 0);
+        Node b = new Node(2, 47.66, -122.31, null, 0);
+        g.addNode(a);
+        g.addNode(b);
+        g.addWeightedEdge(a, b, 5, "One Way St");
+        assertThat(describe(g.neighbors(a))).containsExactly("1->2 5.0 One Way St");
+        assertThat(describe(g.neighbors(b))).containsExactly("2->1 5.0 One Way St");
+        assertThat(describe(g.reverseNeighbors(a))).containsExactly("1->2 5.0 One Way St");
+    }
+
+    @Test
+    void addNode_throwsUnsupportedOperation() {
+        assertThatThrownBy(() -> compact.addNode(compact.vertex(0)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static List<String> describe(Iterable<WeightedEdge<Node>> edges) {
+        List<String> out = new ArrayList<>();
+        for (WeightedEdge<Node> edge : edges) {
+            out.add(edge.from().id() + "->" + edge.to().id() + " " + edge.weight() + " " + edge.name());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,37 @@
+package huskymaps.graph;
+
+import static huskymaps.utils.Constants.OSM_GZ_RESOURCE_NAME;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+/**
+ * Compares the heap used by the map-of-sets StreetMapGraph with the heap used by the same graph
+ * converted to a CompactStreetMapGraph.
+ *
+ * The numbers come from Runtime after requesting garbage collection, so they're approximate; run
+ * with a fixed heap size (e.g. -Xms2g -Xmx2g) for more stable results.
+ */
+public class GraphMemoryDemo {
+    public static void main(String[] args) {
+        long baseline = usedMemory();
+        StreetMapGraph graph = StreetMapGraph.fromResources(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+        long withGraph = usedMemory();
+
+        CompactStreetMapGraph compact = CompactStreetMapGraph.fromGraph(graph);
+        graph = null;
+        long withCompact = usedMemory();
+
+        System.out.println("Nodes: " + compact.numVertices() + ", directed edges: " + compact.numEdges());
+        System.out.printf("StreetMapGraph:        %,15d bytes%n", withGraph - baseline);
+        System.out.printf("CompactStreetMapGraph: %,15d bytes%n", withCompact - baseline);
+        System.out.printf("  (estimated size of adjacency arrays and names: %,d bytes)%n", compact.estimatedBytes());
+        System.out.println("Both totals include the Node objects, which the two layouts share.");
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,137 @@
+package huskymaps.graph;
+
+import edu.washington.cse373.BaseTest;
+import graphpathfinding.WeightedEdge;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static huskymaps.TestConstants.TEST_DATA_ROOT;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GraphSnapshotTests extends BaseTest {
+    private static final File OSM_DB_PATH_TINY = TEST_DATA_ROOT.resolve("tiny.osm.gz").toFile();
+    private CompactStreetMapGraph compact;
+    private CompactStreetMapGraph loaded;
+
+    @BeforeAll
+    void setUp(@TempDir Path tempDir) throws IOException {
+        StreetMapGraph graph = StreetMapGraph.fromFileAndResource(OSM_DB_PATH_TINY, PLACES_RESOURCE_NAME);
+        compact = CompactStreetMapGraph.fromGraph(graph);
+        Path file = tempDir.resolve("tiny.snapshot");
+        GraphSnapshot.write(compact, file);
+        loaded = GraphSnapshot.read(file);
+    }
+
+    @Test
+    void read_restoresEveryNodeField() {
+        // Node.equals only compares ids, so compare the full descriptions instead
+        List<String> expected = new ArrayList<>();
+        List<String> actual = new ArrayList<>();
+        for (int i = 0; i < compact.numVertices(); i++) {
+            expected.add(compact.vertex(i).toString());
+            actual.add(loaded.vertex(i).toString());
+        }
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void read_restoresEveryEdge() {
+        for (Node node : compact.allNodes()) {
+            assertThat(describe(loaded.neighbors(node))).containsExactlyElementsOf(describe(compact.neighbors(node)));
+        }
+    }
+
+    @Test
+    void read_restoresIndexOf() {
+        for (Node node : compact.allNodes()) {
+            assertThat(loaded.indexOf(node)).isEqualTo(compact.indexOf(node));
+        }
+    }
+
+    @Test
+    void fromSnapshot_readsSnapshotWrittenByWrite(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("tiny.snapshot");
+        GraphSnapshot.write(compact, file);
+        StreetMapGraph graph = StreetMapGraph.fromSnapshot(file.toFile());
+        assertThat(graph.allNodes()).containsExactlyElementsOf(compact.allNodes());
+    }
+
+    @Test
+    void read_rejectsFileThatIsNotASnapshot(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("garbage");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+        assertThatThrownBy(() -> GraphSnapshot.read(file))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void read_rejectsTruncatedSnapshot(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("tiny.snapshot");
+        GraphSnapshot.write(compact, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThatThrownBy(() -> GraphSnapshot.read(file))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void read_rejectsCorruptCountsBeforeAllocating(@TempDir Path tempDir) throws IOException {
+        byte[] bytes = snapshotBytes(tempDir);
+        // the node, edge, and string counts follow the magic number and version
+        for (int offset = 8; offset <= 16; offset += 4) {
+            for (int count : new int[]{-1, Integer.MAX_VALUE}) {
+                byte[] corrupt = bytes.clone();
+                ByteBuffer.wrap(corrupt).putInt(offset, count);
+                assertReadFails(tempDir, corrupt);
+            }
+        }
+    }
+
+    @Test
+    void read_rejectsOutOfRangeIndices(@TempDir Path tempDir) throws IOException {
+        byte[] bytes = snapshotBytes(tempDir);
+        int n = compact.numVertices();
+        int m = compact.numEdges();
+        // the edge targets are followed by m edge weights and m edge names at the end of the file
+        int lastTarget = bytes.length - m * (Double.BYTES + Integer.BYTES) - Integer.BYTES;
+        ByteBuffer.wrap(bytes).putInt(lastTarget, n);
+        assertReadFails(tempDir, bytes);
+
+        byte[] names = snapshotBytes(tempDir);
+        ByteBuffer.wrap(names).putInt(names.length - Integer.BYTES, Integer.MAX_VALUE);
+        assertReadFails(tempDir, names);
+    }
+
+    private byte[] snapshotBytes(Path tempDir) throws IOException {
+        Path file = tempDir.resolve("tiny.snapshot");
+        GraphSnapshot.write(compact, file);
+        return Files.readAllBytes(file);
+    }
+
+    private void assertReadFails(Path tempDir, byte[] bytes) throws IOException {
+        Path file = tempDir.resolve("corrupt.snapshot");
+        Files.write(file, bytes);
+        assertThatThrownBy(() -> GraphSnapshot.read(file))
+            .isInstanceOf(IOException.class);
+    }
+
+    private static List<String> describe(Iterable<WeightedEdge<Node>> edges) {
+        List<String> out = new ArrayList<>();
+        for (WeightedEdge<Node> edge : edges) {
+            out.add(edge.from().id() + "->" + edge.to().id() + " " + edge.weight() + " " + edge.name());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,60 @@
+package huskymaps.graph;
+
+import edu.washington.cse373.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongIntMapTests extends BaseTest {
+
+    @Test
+    void get_returnsNegativeOneForMissingKey() {
+        LongIntMap map = new LongIntMap();
+        map.put(1, 0);
+        assertThat(map.get(2)).isEqualTo(-1);
+    }
+
+    @Test
+    void put_replacesPreviousValue() {
+        LongIntMap map = new LongIntMap();
+        map.put(42, 1);
+        map.put(42, 2);
+        assertThat(map.get(42)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_throwsIllegalArgumentForNegativeValue() {
+        LongIntMap map = new LongIntMap();
+        assertThatThrownBy(() -> map.put(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void manyKeys_matchHashMap() {
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(373);
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(3) == 0 ? random.nextLong() : random.nextInt(50000) * 1024L;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+    }
+
+    @Test
+    void clear_removesEveryKey() {
+        LongIntMap map = new LongIntMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertThat(map.size()).isEqualTo(0);
+        assertThat(map.get(5)).isEqualTo(-1);
+    }
+}
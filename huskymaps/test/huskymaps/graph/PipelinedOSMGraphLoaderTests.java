@@ -0,0 +1,104 @@
+package huskymaps.graph;
+
+import edu.washington.cse373.BaseTest;
+import graphpathfinding.WeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static huskymaps.TestConstants.TEST_DATA_ROOT;
+
+public class PipelinedOSMGraphLoaderTests extends BaseTest {
+
+    @Test
+    void tinyGraph_isIdenticalToOSMGraphLoader() throws IOException {
+        byte[] osm;
+        try (InputStream in = new FileInputStream(TEST_DATA_ROOT.resolve("tiny.osm.gz").toFile())) {
+            osm = in.readAllBytes();
+        }
+        assertIdenticalGraphs(osm, "{}");
+    }
+
+    @Test
+    void graphSpanningManyBatches_isIdenticalToOSMGraphLoader() throws IOException {
+        assertIdenticalGraphs(randomOsm(20000, 3000, new Random(373)), "{\"Place 7\": 3, \"Place 12\": 9}");
+    }
+
+    private void assertIdenticalGraphs(byte[] osmGzip, String places) {
+        StreetMapGraph expected = StreetMapGraph.fromStreams(new ByteArrayInputStream(osmGzip), utf8(places));
+        StreetMapGraph actual = StreetMapGraph.fromStreamsPipelined(new ByteArrayInputStream(osmGzip), utf8(places));
+
+        // Node.equals only compares ids, so compare the full descriptions instead
+        assertThat(describeNodes(actual.allNodes())).containsExactlyElementsOf(describeNodes(expected.allNodes()));
+        // WeightedEdges use identity hash codes, so neither loader iterates neighbors in a fixed order
+        for (Node node : expected.allNodes()) {
+            assertThat(describeEdges(actual.neighbors(node)))
+                .containsExactlyInAnyOrderElementsOf(describeEdges(expected.neighbors(node)));
+        }
+    }
+
+    /**
+     * Returns a gzipped OSM file with the given numbers of nodes and ways. Some nodes have names,
+     * and some ways are not highways or have fewer than two nodes, so they make no edges.
+     */
+    private static byte[] randomOsm(int numNodes, int numWays, Random random) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            out.write("<?xml version='1.0' encoding='UTF-8'?>\n<osm version=\"0.6\">\n");
+            for (int i = 0; i < numNodes; i++) {
+                double lat = 47.5 + random.nextDouble() / 4;
+                double lon = -122.5 + random.nextDouble() / 4;
+                out.write("<node id=\"" + (1000L * i + 7) + "\" lat=\"" + lat + "\" lon=\"" + lon + "\">");
+                if (i % 5 == 0) {
+                    out.write("<tag k=\"name\" v=\" Place " + (i % 20) + "’s \"/>");
+                }
+                out.write("</node>\n");
+            }
+            for (int w = 0; w < numWays; w++) {
+                out.write("<way id=\"" + w + "\">");
+                int length = random.nextInt(10);
+                for (int j = 0; j < length; j++) {
+                    out.write("<nd ref=\"" + (1000L * random.nextInt(numNodes) + 7) + "\"/>");
+                }
+                if (w % 3 != 0) {
+                    out.write("<tag k=\"name\" v=\"Way " + w + "\"/>");
+                }
+                out.write("<tag k=\"highway\" v=\"" + (w % 7 == 0 ? "footway" : "residential") + "\"/>");
+                out.write("</way>\n");
+            }
+            out.write("</osm>\n");
+        }
+        return bytes.toByteArray();
+    }
+
+    private static InputStream utf8(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> describeNodes(List<Node> nodes) {
+        List<String> out = new ArrayList<>();
+        for (Node node : nodes) {
+            out.add(node.toString());
+        }
+        return out;
+    }
+
+    private static List<String> describeEdges(Iterable<WeightedEdge<Node>> edges) {
+        List<String> out = new ArrayList<>();
+        for (WeightedEdge<Node> edge : edges) {
+            out.add(edge.from().id() + "->" + edge.to().id() + " " + edge.weight() + " " + edge.name());
+        }
+        return out;
+    }
+}
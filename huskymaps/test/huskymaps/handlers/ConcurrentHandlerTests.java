@@ -0,0 +1,131 @@
+package huskymaps.handlers;
+
+import edu.washington.cse373.BaseTest;
+import huskymaps.graph.StreetMapGraph;
+import huskymaps.handlers.rastering.RasterAPIHandler;
+import huskymaps.handlers.rastering.RasterRequest;
+import huskymaps.handlers.routing.IsochroneAPIHandler;
+import huskymaps.handlers.routing.IsochroneRequest;
+import huskymaps.handlers.routing.RouteRequest;
+import huskymaps.handlers.routing.RoutingAPIHandler;
+import huskymaps.handlers.searching.SearchAPIHandler;
+import huskymaps.handlers.searching.SearchRequest;
+import huskymaps.rastering.Tile;
+import huskymaps.rastering.TileGrid;
+import huskymaps.routing.DefaultRouter;
+import huskymaps.routing.Router;
+import huskymaps.searching.DefaultSearcher;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static huskymaps.TestConstants.TEST_DATA_ROOT;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+import static huskymaps.utils.Constants.TILE_SIZE;
+
+/**
+ * Sends many requests to handlers shared by several threads at once, as the server does, and checks
+ * that every response matches the one the same request gets when it's sent by itself.
+ */
+public class ConcurrentHandlerTests extends BaseTest {
+    private static final File OSM_DB_PATH_TINY = TEST_DATA_ROOT.resolve("tiny.osm.gz").toFile();
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 200;
+
+    /** A request to a handler, along with the response it should get. */
+    private static class Call<Req, Res> {
+        private final APIRouteHandler<Req, Res> handler;
+        private final Req request;
+        private final Res expected;
+
+        Call(APIRouteHandler<Req, Res> handler, Req request) {
+            this.handler = handler;
+            this.request = request;
+            this.expected = handler.processRequest(request, null);
+        }
+
+        boolean matches() {
+            return Objects.equals(handler.processRequest(request, null), expected);
+        }
+
+        @Override
+        public String toString() {
+            return request.toString();
+        }
+    }
+
+    @Test
+    void processRequest_fromManyThreads_matchesSequentialResults() throws Exception {
+        StreetMapGraph graph = StreetMapGraph.fromFileAndResource(OSM_DB_PATH_TINY, PLACES_RESOURCE_NAME);
+        // a small route cache, so routes are evicted and found again while other threads read it
+        Router router = new DefaultRouter(graph, 10);
+        RoutingAPIHandler routing = new RoutingAPIHandler(router);
+        IsochroneAPIHandler isochrones = new IsochroneAPIHandler(router);
+        SearchAPIHandler searching = new SearchAPIHandler(new DefaultSearcher(graph));
+        // blank tiles, so the test doesn't depend on the tile images being available
+        RasterAPIHandler rastering = new RasterAPIHandler(
+            (ul, lr, depth) -> new TileGrid(new Tile[][]{{new Tile(depth, 0, 0)}}), 512 * 1024, 512 * 1024) {
+            @Override
+            protected BufferedImage readTile(Tile name) {
+                return new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+            }
+        };
+
+        List<Call<?, ?>> calls = new ArrayList<>();
+        double[][] points = {{47.55, -122.45}, {47.75, -122.2}, {47.5, -122.5}, {47.5, -122.3}, {47.75, -122.3}};
+        for (double[] start : points) {
+            for (double[] end : points) {
+                calls.add(new Call<>(routing, RouteRequest.from(Map.of(
+                    "start_lat", start[0], "start_lon", start[1], "end_lat", end[0], "end_lon", end[1]))));
+            }
+            calls.add(new Call<>(isochrones, IsochroneRequest.from(Map.of(
+                "lat", start[0], "lon", start[1], "distance", 5.0))));
+        }
+        for (String term : List.of("a", "c", "s", "se", "u")) {
+            calls.add(new Call<>(searching, new SearchRequest(term, false)));
+            calls.add(new Call<>(searching, new SearchRequest(term, true)));
+        }
+        for (int depth = 0; depth < 4; depth++) {
+            calls.add(new Call<>(rastering, RasterRequest.from(Map.of(
+                "ullat", 47.6, "ullon", -122.3, "lrlat", 47.5, "lrlon", -122.2, "depth", depth))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Call<?, ?>>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Call<?, ?>> mismatches = new ArrayList<>();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        // each thread walks the calls from a different place, so they overlap differently
+                        Call<?, ?> call = calls.get((offset * 7 + i) % calls.size());
+                        if (!call.matches()) {
+                            mismatches.add(call);
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<Call<?, ?>>> future : futures) {
+                assertThat(future.get(1, TimeUnit.MINUTES)).isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
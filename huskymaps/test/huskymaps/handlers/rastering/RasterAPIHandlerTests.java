@@ -0,0 +1,76 @@
+package huskymaps.handlers.rastering;
+
+import edu.washington.cse373.BaseTest;
+import huskymaps.rastering.Tile;
+import huskymaps.rastering.TileGrid;
+import org.junit.jupiter.api.Test;
+import spark.HaltException;
+
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static huskymaps.utils.Constants.TILE_SIZE;
+
+public class RasterAPIHandlerTests extends BaseTest {
+    private static final RasterRequest REQUEST = RasterRequest.from(Map.of(
+        "ullat", 47.6, "ullon", -122.3, "lrlat", 47.5, "lrlon", -122.2, "depth", 0));
+
+    private final AtomicBoolean tilesMissing = new AtomicBoolean();
+
+    /**
+     * Returns a handler whose rasterer always returns a single-tile grid, whatever the request, and
+     * whose tiles are blank images unless tilesMissing is set.
+     */
+    private RasterAPIHandler createHandler() {
+        return new RasterAPIHandler((ul, lr, depth) -> new TileGrid(new Tile[][]{{new Tile(0, 0, 0)}}),
+                                    1024 * 1024, 1024 * 1024) {
+            @Override
+            protected BufferedImage readTile(Tile name) {
+                if (tilesMissing.get()) {
+                    throw new UncheckedIOException(new FileNotFoundException(name.toString()));
+                }
+                return new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+            }
+        };
+    }
+
+    @Test
+    void processRequest_sameGridTwice_rendersOnce() {
+        RasterAPIHandler handler = createHandler();
+        RenderedRasterResult first = handler.processRequest(REQUEST, null);
+        RenderedRasterResult second = handler.processRequest(REQUEST, null);
+
+        assertThat(first.success).isTrue();
+        assertThat(second).isSameAs(first);
+        assertThat(handler.resultCache().misses()).isEqualTo(1);
+        assertThat(handler.resultCache().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void processRequest_emptyGrid_isNotCached() {
+        RasterAPIHandler handler = new RasterAPIHandler((ul, lr, depth) -> new TileGrid(null), 0, 0);
+        RenderedRasterResult result = handler.processRequest(REQUEST, null);
+
+        assertThat(result.success).isFalse();
+        assertThat(handler.resultCache().size()).isEqualTo(0);
+    }
+
+    @Test
+    void processRequest_missingTile_haltsWithoutCaching() {
+        RasterAPIHandler handler = createHandler();
+        tilesMissing.set(true);
+        assertThatThrownBy(() -> handler.processRequest(REQUEST, null)).isInstanceOf(HaltException.class);
+        assertThat(handler.tileCache().size()).isEqualTo(0);
+        assertThat(handler.resultCache().size()).isEqualTo(0);
+
+        // once the tile can be read, the same grid is rendered instead of replaying the failure
+        tilesMissing.set(false);
+        RenderedRasterResult result = handler.processRequest(REQUEST, null);
+        assertThat(result.success).isTrue();
+        assertThat(result.image).isNotEmpty();
+        assertThat(handler.resultCache().misses()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,125 @@
+package huskymaps.handlers.rastering;
+
+import edu.washington.cse373.BaseTest;
+import huskymaps.rastering.Tile;
+import org.junit.jupiter.api.Test;
+import spark.HaltException;
+import spark.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TileAPIHandlerTests extends BaseTest {
+    private static final byte[] TILE_BYTES = {1, 2, 3, 4};
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicBoolean readsFail = new AtomicBoolean();
+
+    /**
+     * Returns a handler where only tile d0_x0_y0 exists, and counts how often it reads tiles.
+     * While readsFail is set, reading any tile throws instead.
+     */
+    private TileAPIHandler createHandler() {
+        return new TileAPIHandler(1024) {
+            @Override
+            protected byte[] readTile(Tile tile) {
+                reads.incrementAndGet();
+                if (readsFail.get()) {
+                    throw new UncheckedIOException(new IOException("disk error"));
+                }
+                return tile.equals(new Tile(0, 0, 0)) ? TILE_BYTES : null;
+            }
+        };
+    }
+
+    private static TileRequest request(int depth, int x, int y, String ifNoneMatch) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("depth", depth);
+        params.put("x", x);
+        params.put("y", y);
+        params.put("if_none_match", ifNoneMatch);
+        return TileRequest.from(params);
+    }
+
+    @Test
+    void processRequest_existingTile_returnsBytesWithCachingHeaders() {
+        RecordingResponse response = new RecordingResponse();
+        byte[] result = createHandler().processRequest(request(0, 0, 0, null), response);
+
+        assertThat(result).containsExactly(TILE_BYTES);
+        assertThat(response.type).isEqualTo("image/jpeg");
+        assertThat(response.headers).containsKeys("ETag", "Cache-Control");
+        assertThat(response.status).isEqualTo(0);
+    }
+
+    @Test
+    void processRequest_withMatchingETag_returnsNotModified() {
+        TileAPIHandler handler = createHandler();
+        RecordingResponse first = new RecordingResponse();
+        handler.processRequest(request(0, 0, 0, null), first);
+        String etag = first.headers.get("ETag");
+
+        RecordingResponse second = new RecordingResponse();
+        byte[] result = handler.processRequest(request(0, 0, 0, etag), second);
+
+        assertThat(result).isEmpty();
+        assertThat(second.status).isEqualTo(304);
+        assertThat(reads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void processRequest_missingTile_halts() {
+        TileAPIHandler handler = createHandler();
+        TileRequest request = request(0, 1, 0, null);
+        assertThatThrownBy(() -> handler.processRequest(request, new RecordingResponse()))
+            .isInstanceOf(HaltException.class)
+            .extracting(e -> ((HaltException) e).getStatusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void processRequest_unreadableTile_haltsWithServerErrorWithoutCaching() {
+        TileAPIHandler handler = createHandler();
+        TileRequest request = request(0, 0, 0, null);
+        readsFail.set(true);
+        assertThatThrownBy(() -> handler.processRequest(request, new RecordingResponse()))
+            .isInstanceOf(HaltException.class)
+            .extracting(e -> ((HaltException) e).getStatusCode()).isEqualTo(500);
+        assertThat(handler.tileCache().size()).isEqualTo(0);
+
+        // once the file can be read, the tile is served instead of replaying the failure
+        readsFail.set(false);
+        assertThat(handler.processRequest(request, new RecordingResponse())).containsExactly(TILE_BYTES);
+        assertThat(reads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void from_tileOutsideMap_halts() {
+        assertThatThrownBy(() -> request(0, 2, 0, null)).isInstanceOf(HaltException.class);
+        assertThatThrownBy(() -> request(8, 0, 0, null)).isInstanceOf(HaltException.class);
+    }
+
+    private static class RecordingResponse extends Response {
+        final Map<String, String> headers = new HashMap<>();
+        String type;
+        int status;
+
+        @Override
+        public void header(String header, String value) {
+            headers.put(header, value);
+        }
+
+        @Override
+        public void type(String contentType) {
+            type = contentType;
+        }
+
+        @Override
+        public void status(int statusCode) {
+            status = statusCode;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package huskymaps.handlers.routing;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import edu.washington.cse373.BaseTest;
+import huskymaps.graph.Coordinate;
+import huskymaps.graph.Node;
+import huskymaps.graph.StreetMapGraph;
+import huskymaps.routing.DefaultRouter;
+import huskymaps.routing.Router;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import spark.HaltException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static huskymaps.TestConstants.TEST_DATA_ROOT;
+import static huskymaps.utils.Constants.MAX_BATCH_ROUTES;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BatchRoutingAPIHandlerTests extends BaseTest {
+    private static final File OSM_DB_PATH_TINY = TEST_DATA_ROOT.resolve("tiny.osm.gz").toFile();
+    private final Gson gson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .create();
+    private StreetMapGraph graph;
+    private Router router;
+    private ExecutorService executor;
+
+    @BeforeAll
+    void setUp() {
+        graph = StreetMapGraph.fromFileAndResource(OSM_DB_PATH_TINY, PLACES_RESOURCE_NAME);
+        router = new DefaultRouter(graph);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Map<String, Double> route(double startLat, double startLon, double endLat, double endLon) {
+        return Map.of("start_lat", startLat, "start_lon", startLon, "end_lat", endLat, "end_lon", endLon);
+    }
+
+    @Test
+    void writeRoutes_writesOneLinePerRouteMatchingSingleRoutes() throws IOException {
+        List<Map<String, Double>> params = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            params.add(route(47.55, -122.45, 47.75, -122.2));
+            params.add(route(47.55, -122.45, 47.5, -122.5));
+            params.add(route(47.5, -122.3, 47.75, -122.3));
+        }
+        BatchRouteRequest request = BatchRouteRequest.from(params);
+        // a small window makes routes start while earlier ones are still being written
+        BatchRoutingAPIHandler handler = new BatchRoutingAPIHandler(router, executor, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        handler.writeRoutes(request.routes, out);
+
+        RoutingAPIHandler routing = new RoutingAPIHandler(router);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < request.routes.size(); i++) {
+            RouteResult route = routing.processRequest(request.routes.get(i), null);
+            expected.add(gson.toJson(new BatchRouteResult(i, route, null)));
+        }
+        List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertThat(lines).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void writeRoutes_whenWritingFails_throwsIOException() {
+        List<Map<String, Double>> params = Collections.nCopies(100, route(47.55, -122.45, 47.75, -122.2));
+        BatchRoutingAPIHandler handler = new BatchRoutingAPIHandler(router, executor, 2);
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+
+        assertThatThrownBy(() -> handler.writeRoutes(BatchRouteRequest.from(params).routes, closed))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void writeRoutes_whenRoutingFails_reportsGenericErrorPerRoute() throws IOException {
+        Router failing = new DefaultRouter(graph) {
+            @Override
+            public List<Node> shortestPath(Coordinate start, Coordinate end) {
+                throw new IllegalStateException("internal details");
+            }
+        };
+        BatchRoutingAPIHandler handler = new BatchRoutingAPIHandler(failing, executor, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        handler.writeRoutes(BatchRouteRequest.from(List.of(route(47.55, -122.45, 47.75, -122.2))).routes, out);
+
+        BatchRouteResult result = gson.fromJson(out.toString(StandardCharsets.UTF_8).trim(), BatchRouteResult.class);
+        assertThat(result.route).isNull();
+        assertThat(result.error).isEqualTo("Request failed: unable to find route.");
+    }
+
+    @Test
+    void from_withMissingParameter_halts() {
+        List<Map<String, Double>> params = List.of(Map.of("start_lat", 47.55, "start_lon", -122.45));
+        assertThatThrownBy(() -> BatchRouteRequest.from(params)).isInstanceOf(HaltException.class);
+    }
+
+    @Test
+    void from_withTooManyRoutes_halts() {
+        List<Map<String, Double>> params = Collections.nCopies(MAX_BATCH_ROUTES + 1,
+                                                               route(47.55, -122.45, 47.5, -122.5));
+        assertThatThrownBy(() -> BatchRouteRequest.from(params)).isInstanceOf(HaltException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package huskymaps.routing;
+
+import edu.washington.cse373.BaseTest;
+import huskymaps.graph.Coordinate;
+import huskymaps.graph.Node;
+import huskymaps.graph.StreetMapGraph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static huskymaps.TestConstants.TEST_DATA_ROOT;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DefaultRouterCacheTests extends BaseTest {
+    private static final File OSM_DB_PATH_TINY = TEST_DATA_ROOT.resolve("tiny.osm.gz").toFile();
+    // these snap to nodes 22 and 66 in the tiny graph
+    private static final Coordinate START = new Coordinate(47.55, -122.45);
+    private static final Coordinate END = new Coordinate(47.75, -122.2);
+    private StreetMapGraph tinyGraph;
+
+    @BeforeAll
+    void setUp() {
+        tinyGraph = StreetMapGraph.fromFileAndResource(OSM_DB_PATH_TINY, PLACES_RESOURCE_NAME);
+    }
+
+    @Test
+    void shortestPath_repeated_returnsCachedRoute() {
+        DefaultRouter router = new DefaultRouter(tinyGraph);
+        List<Node> first = router.shortestPath(START, END);
+        // nearby coordinates that snap to the same nodes share the route
+        List<Node> second = router.shortestPath(new Coordinate(47.5501, -122.4501), END);
+
+        assertThat(second).isSameAs(first);
+        assertThat(router.routeCache().misses()).isEqualTo(1);
+        assertThat(router.routeCache().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void routeDirections_ofCachedRoute_matchesUncachedDirections() {
+        DefaultRouter cached = new DefaultRouter(tinyGraph);
+        DefaultRouter uncached = new DefaultRouter(tinyGraph, 0);
+        List<Node> cachedRoute = cached.shortestPath(START, END);
+        List<Node> uncachedRoute = uncached.shortestPath(START, END);
+
+        assertThat(cachedRoute).isEqualTo(uncachedRoute);
+        assertThat(cached.routeDirections(cachedRoute)).isEqualTo(uncached.routeDirections(uncachedRoute));
+        assertThat(uncached.routeCache().size()).isEqualTo(0);
+    }
+
+    @Test
+    void shortestPath_concurrentRequests_allGetSameRoute() throws Exception {
+        DefaultRouter router = new DefaultRouter(tinyGraph);
+        List<Node> expected = new DefaultRouter(tinyGraph, 0).shortestPath(START, END);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Node>>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> router.shortestPath(START, END)));
+            }
+            for (Future<List<Node>> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // single-flight loading means the route was only searched for once
+        assertThat(router.routeCache().misses()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,78 @@
+package huskymaps.routing;
+
+import graphpathfinding.IndexedAStarPathFinder;
+import graphpathfinding.LandmarkHeuristicGraph;
+import graphpathfinding.ShortestPathFinder;
+import graphpathfinding.ShortestPathResult;
+import huskymaps.graph.CompactStreetMapGraph;
+import huskymaps.graph.Node;
+import huskymaps.graph.StreetMapGraph;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static huskymaps.utils.Constants.OSM_GZ_RESOURCE_NAME;
+import static huskymaps.utils.Constants.PLACES_RESOURCE_NAME;
+
+/**
+ * Reports how many nodes A* settles per route on the Seattle graph with the great-circle distance
+ * heuristic, compared to the same heuristic strengthened by different numbers of landmarks.
+ *
+ * Routes are between random pairs of nodes that have roads, and every heuristic must find routes
+ * of the same length, since they are all admissible.
+ */
+public class LandmarkHeuristicDemo {
+    private static final int NUM_ROUTES = 1000;
+    private static final int[] NUM_LANDMARKS = {4, 8, 16};
+    private static final Duration TIMEOUT = Duration.ofSeconds(90);
+
+    public static void main(String[] args) {
+        StreetMapGraph graph = StreetMapGraph.fromResourcesPipelined(OSM_GZ_RESOURCE_NAME, PLACES_RESOURCE_NAME);
+        CompactStreetMapGraph compact = CompactStreetMapGraph.fromGraph(graph);
+
+        List<Node> roadNodes = new ArrayList<>();
+        for (int i = 0; i < compact.numVertices(); i++) {
+            if (compact.edgeStart(i) < compact.edgeEnd(i)) {
+                roadNodes.add(compact.vertex(i));
+            }
+        }
+        Random random = new Random(373);
+        Node[] starts = new Node[NUM_ROUTES];
+        Node[] ends = new Node[NUM_ROUTES];
+        for (int i = 0; i < NUM_ROUTES; i++) {
+            starts[i] = roadNodes.get(random.nextInt(roadNodes.size()));
+            ends[i] = roadNodes.get(random.nextInt(roadNodes.size()));
+        }
+
+        System.out.println("Nodes: " + compact.numVertices() + ", routes: " + NUM_ROUTES);
+        double[] weights = run("great-circle", new IndexedAStarPathFinder<>(compact), starts, ends, null);
+        for (int k : NUM_LANDMARKS) {
+            long start = System.nanoTime();
+            LandmarkHeuristicGraph<Node> landmarkGraph = new LandmarkHeuristicGraph<>(compact, k);
+            System.out.printf("(picked %d landmarks in %.1f s)%n", k, (System.nanoTime() - start) / 1e9);
+            run(k + " landmarks", new IndexedAStarPathFinder<>(landmarkGraph), starts, ends, weights);
+        }
+    }
+
+    /** Runs every route, prints the average number of settled nodes, and returns the route weights. */
+    private static double[] run(String name, ShortestPathFinder<Node> pathFinder, Node[] starts, Node[] ends,
+                                double[] expectedWeights) {
+        double[] weights = new double[starts.length];
+        long settled = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < starts.length; i++) {
+            ShortestPathResult<Node> result = pathFinder.findShortestPath(starts[i], ends[i], TIMEOUT);
+            settled += result.numStatesExplored();
+            weights[i] = result.solutionWeight();
+            if (expectedWeights != null && Math.abs(weights[i] - expectedWeights[i]) > 1e-9) {
+                System.out.println("Route " + i + " has weight " + weights[i] + " instead of " + expectedWeights[i]);
+            }
+        }
+        double elapsedMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-14s %,10.0f nodes settled per route, %8.3f ms per route%n",
+            name, (double) settled / starts.length, elapsedMillis / starts.length);
+        return weights;
+    }
+}
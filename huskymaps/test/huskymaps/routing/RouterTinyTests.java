@@ -31,6 +31,10 @@ public class RouterTinyTests extends BaseTest {
         initialized = true;
     }
 
+    protected Router createRouter(StreetMapGraph graph) {
+        return new DefaultRouter(graph);
+    }
+
     @Test
     void test22to66() {
         RouteRequest request = RouteRequest.from(Map.of(
@@ -41,7 +45,7 @@ public class RouterTinyTests extends BaseTest {
         ));
         Coordinate start = new Coordinate(request.startLat, request.startLon);
         Coordinate end = new Coordinate(request.endLat, request.endLon);
-        List<Node> actual = new DefaultRouter(tinyGraph).shortestPath(start, end);
+        List<Node> actual = createRouter(tinyGraph).shortestPath(start, end);
         assertThat(actual).extracting(Node::id).containsExactly(22L, 46L, 66L);
     }
 
@@ -55,7 +59,7 @@ public class RouterTinyTests extends BaseTest {
         ));
         Coordinate start = new Coordinate(request.startLat, request.startLon);
         Coordinate end = new Coordinate(request.endLat, request.endLon);
-        List<Node> actual = new DefaultRouter(tinyGraph).shortestPath(start, end);
+        List<Node> actual = createRouter(tinyGraph).shortestPath(start, end);
         assertThat(actual).extracting(Node::id).containsExactly(22L, 11L);
     }
 
@@ -69,7 +73,7 @@ public class RouterTinyTests extends BaseTest {
         ));
         Coordinate start = new Coordinate(request.startLat, request.startLon);
         Coordinate end = new Coordinate(request.endLat, request.endLon);
-        List<Node> actual = new DefaultRouter(tinyGraph).shortestPath(start, end);
+        List<Node> actual = createRouter(tinyGraph).shortestPath(start, end);
         assertThat(actual).extracting(Node::id).containsExactly(41L, 63L, 66L, 46L);
     }
 
@@ -83,7 +87,39 @@ public class RouterTinyTests extends BaseTest {
         ));
         Coordinate start = new Coordinate(request.startLat, request.startLon);
         Coordinate end = new Coordinate(request.endLat, request.endLon);
-        List<Node> actual = new DefaultRouter(tinyGraph).shortestPath(start, end);
+        List<Node> actual = createRouter(tinyGraph).shortestPath(start, end);
         assertThat(actual).extracting(Node::id).containsExactly(66L, 63L, 55L);
     }
+
+    @Test
+    void testDistanceMatrix() {
+        // these snap to nodes 22, 66, and 11
+        List<Coordinate> locations = List.of(
+                new Coordinate(47.55, -122.45),
+                new Coordinate(47.75, -122.2),
+                new Coordinate(47.5, -122.5)
+        );
+        double[][] actual = createRouter(tinyGraph).distanceMatrix(locations, locations);
+        double[][] expected = {
+                {0, 20.149452, 4.173018},
+                {20.149452, 0, 24.322470},
+                {4.173018, 24.322470, 0}
+        };
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[i].length; j++) {
+                assertThat(actual[i][j]).isCloseTo(expected[i][j], within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void testReachableNodes() {
+        // this snaps to node 22, which is 4.17 miles from node 11 and 20.15 miles from node 66
+        Coordinate start = new Coordinate(47.55, -122.45);
+        Router router = createRouter(tinyGraph);
+        assertThat(router.reachableNodes(start, 0)).extracting(Node::id).containsExactly(22L);
+        assertThat(router.reachableNodes(start, 5)).extracting(Node::id).containsExactly(22L, 11L);
+        assertThat(router.reachableNodes(start, 20.2)).extracting(Node::id)
+                .containsExactly(22L, 11L, 41L, 55L, 46L, 66L);
+    }
 }
@@ -5,6 +5,7 @@ import huskymaps.graph.Node;
 import huskymaps.graph.StreetMapGraph;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -47,6 +48,31 @@ public class SearcherTests extends BaseTest {
             new SimpleNode("ca", 0));
     }
 
+    @Test
+    void getLocations_withNoMatch_returnsEmpty() {
+        List<Node> nodes = List.of(
+            new SimpleNode(null, 3),
+            new SimpleNode("c", 2),
+            new SimpleNode("cat", 1)
+        );
+
+        Searcher searcher = createSearcher(nodes);
+        assertThat(searcher.getLocations("ca")).isEmpty();
+        assertThat(searcher.getLocations("")).isEmpty();
+    }
+
+    @Test
+    void getLocations_returnsMatchesInGraphOrder() {
+        List<Node> nodes = List.of(
+            new SimpleNode("ca", 2),
+            new SimpleNode("cat", 1),
+            new SimpleNode("ca", 0)
+        );
+
+        Searcher searcher = createSearcher(nodes);
+        assertThat(searcher.getLocations("ca")).containsExactly(new SimpleNode("ca", 2), new SimpleNode("ca", 0));
+    }
+
     @Test
     void getLocationsByPrefix_withMultipleDuplicateMatches_returnMatchesInOrder() {
         List<Node> nodes = List.of(
@@ -64,6 +90,86 @@ public class SearcherTests extends BaseTest {
         assertThat(matches).containsExactly("cat", "ca");
     }
 
+    @Test
+    void getLocationsByPrefix_withLimit_returnsFirstMatches() {
+        List<Node> nodes = List.of(
+            new SimpleNode("c", 2),
+            new SimpleNode("ca", 0),
+            new SimpleNode("cat", 1),
+            new SimpleNode("dog", 5)
+        );
+
+        Searcher searcher = createSearcher(nodes);
+        assertThat(searcher.getLocationsByPrefix("c", 2)).containsExactly("c", "cat");
+        assertThat(searcher.getLocationsByPrefix("c", 5)).containsExactly("c", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("c", 0)).isEmpty();
+    }
+
+    @Test
+    void getLocationsByPrefix_withLongerPrefix_filtersCachedShorterPrefix() {
+        List<Node> nodes = List.of(
+            new SimpleNode("c", 2),
+            new SimpleNode("ca", 0),
+            new SimpleNode("Cab", 3),
+            new SimpleNode("cat", 1),
+            new SimpleNode("dog", 5)
+        );
+        DefaultSearcher searcher = new DefaultSearcher(new DummyGraph(nodes));
+
+        assertThat(searcher.getLocationsByPrefix("c")).containsExactly("Cab", "c", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("ca")).containsExactly("Cab", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("cat")).containsExactly("cat");
+        assertThat(searcher.getLocationsByPrefix("CA")).containsExactly("Cab", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("ca", 2)).containsExactly("Cab", "cat");
+
+        assertThat(searcher.prefixCache().misses()).isEqualTo(3);
+        assertThat(searcher.prefixCache().hits()).isEqualTo(2);
+        assertThat(searcher.parentHits()).isEqualTo(2);
+    }
+
+    @Test
+    void getLocationsByPrefix_withLimit_filtersOnlyAlreadyCachedPrefixes() {
+        List<Node> nodes = List.of(
+            new SimpleNode("c", 2),
+            new SimpleNode("ca", 0),
+            new SimpleNode("Cab", 3),
+            new SimpleNode("cat", 1),
+            new SimpleNode("dog", 5)
+        );
+        DefaultSearcher searcher = new DefaultSearcher(new DummyGraph(nodes));
+
+        // with nothing cached, limited searches only find the heaviest matches and cache nothing
+        assertThat(searcher.getLocationsByPrefix("c", 2)).containsExactly("Cab", "c");
+        assertThat(searcher.prefixCache().size()).isEqualTo(0);
+
+        // once an unlimited search caches "c", limited searches filter and cache its results
+        assertThat(searcher.getLocationsByPrefix("c")).containsExactly("Cab", "c", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("ca", 2)).containsExactly("Cab", "cat");
+        assertThat(searcher.getLocationsByPrefix("cat", 2)).containsExactly("cat");
+        assertThat(searcher.getLocationsByPrefix("CA", 10)).containsExactly("Cab", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("dog", 1)).containsExactly("dog");
+
+        assertThat(searcher.prefixCache().size()).isEqualTo(3);
+        assertThat(searcher.prefixCache().misses()).isEqualTo(3);
+        assertThat(searcher.prefixCache().hits()).isEqualTo(1);
+        assertThat(searcher.parentHits()).isEqualTo(2);
+    }
+
+    @Test
+    void getLocationsByPrefix_withEmptyCache_matchesUncachedResults() {
+        List<Node> nodes = List.of(
+            new SimpleNode("c", 2),
+            new SimpleNode("ca", 0),
+            new SimpleNode("cat", 1)
+        );
+        DefaultSearcher searcher = new DefaultSearcher(new DummyGraph(nodes), 0);
+
+        assertThat(searcher.getLocationsByPrefix("c")).containsExactly("c", "cat", "ca");
+        assertThat(searcher.getLocationsByPrefix("ca")).containsExactly("cat", "ca");
+        assertThat(searcher.prefixCache().size()).isEqualTo(0);
+        assertThat(searcher.parentHits()).isEqualTo(0);
+    }
+
     @Test
     void getLocationsByPrefix_ignoresNullNames() {
         List<Node> nodes = List.of(
@@ -81,6 +187,23 @@ public class SearcherTests extends BaseTest {
         assertThat(matches).containsExactly("c", "cat", "ca");
     }
 
+    @Test
+    void estimatedBytes_countsArraysAndHashMapTable() {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            nodes.add(new SimpleNode("name" + i, i));
+        }
+        DefaultSearcher searcher = new DefaultSearcher(new DummyGraph(nodes));
+        // three int arrays of 12, 13 and 12 elements, the HashMap with its 16-slot table (12 entries
+        // fill exactly 3/4 of it), and 12 entries whose boxed slot numbers are cached
+        assertThat(searcher.estimatedBytes()).isEqualTo(64 + 72 + 64 + 48 + 80 + 32 * 12);
+
+        nodes.add(new SimpleNode("name12", 12));
+        searcher = new DefaultSearcher(new DummyGraph(nodes));
+        // the 13th name doubles the table
+        assertThat(searcher.estimatedBytes()).isEqualTo(72 + 72 + 72 + 48 + 144 + 32 * 13);
+    }
+
     protected static class DummyGraph extends StreetMapGraph {
         public DummyGraph(List<Node> nodes) {
             this.nodes = nodes;
@@ -0,0 +1,111 @@
+package huskymaps.utils;
+
+import edu.washington.cse373.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundedCacheTests extends BaseTest {
+
+    @Test
+    void get_loadsOnceAndCountsHitsAndMisses() {
+        BoundedCache<Integer, String> cache = BoundedCache.withMaxSize(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(1, k -> "v" + k + loads.incrementAndGet())).isEqualTo("v11");
+        assertThat(cache.get(1, k -> "v" + k + loads.incrementAndGet())).isEqualTo("v11");
+        assertThat(cache.get(2, k -> "v" + k + loads.incrementAndGet())).isEqualTo("v22");
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_overMaxWeight_evictsLeastRecentlyUsed() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, String::length);
+        cache.get(1, k -> "aaaa");
+        cache.get(2, k -> "bbbb");
+        cache.get(1, k -> "xxxx");
+        cache.get(3, k -> "cccc");
+
+        assertThat(cache.getIfPresent(2)).isNull();
+        assertThat(cache.getIfPresent(1)).isEqualTo("aaaa");
+        assertThat(cache.getIfPresent(3)).isEqualTo("cccc");
+        assertThat(cache.weight()).isEqualTo(8);
+        assertThat(cache.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void get_withNullValue_doesNotCache() {
+        BoundedCache<Integer, String> cache = BoundedCache.withMaxSize(10);
+        assertThat(cache.get(1, k -> null)).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get(1, k -> "one")).isEqualTo("one");
+    }
+
+    @Test
+    void get_withThrowingLoader_rethrowsAndDoesNotCache() {
+        BoundedCache<Integer, String> cache = BoundedCache.withMaxSize(10);
+        assertThatThrownBy(() -> cache.get(1, k -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get(1, k -> "one")).isEqualTo("one");
+    }
+
+    @Test
+    void clear_removesValuesAndWeight() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, String::length);
+        cache.get(1, k -> "one");
+        cache.get(2, k -> "two");
+        cache.clear();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.weight()).isEqualTo(0);
+    }
+
+    @Test
+    void get_concurrentlyForSameKey_loadsOnce() throws Exception {
+        BoundedCache<Integer, String> cache = BoundedCache.withMaxSize(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        int numThreads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(1, k -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                try {
+                    releaseLoader.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return "one";
+            })));
+            loaderStarted.await();
+            for (int i = 1; i < numThreads; i += 1) {
+                results.add(executor.submit(() -> cache.get(1, k -> "v" + loads.incrementAndGet())));
+            }
+            releaseLoader.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("one");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(numThreads - 1);
+    }
+}
@@ -0,0 +1,32 @@
+package huskymaps.utils;
+
+import edu.washington.cse373.BaseTest;
+import huskymaps.graph.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SpatialTests extends BaseTest {
+    private static final Coordinate SW = new Coordinate(47.6, -122.4);
+    private static final Coordinate SE = new Coordinate(47.6, -122.3);
+    private static final Coordinate NE = new Coordinate(47.7, -122.3);
+    private static final Coordinate NW = new Coordinate(47.7, -122.4);
+
+    @Test
+    void convexHull_dropsInteriorAndRepeatedPoints() {
+        Coordinate center = new Coordinate(47.65, -122.35);
+        Coordinate nearSouthEdge = new Coordinate(47.61, -122.35);
+
+        List<Coordinate> hull = Spatial.convexHull(List.of(center, NE, nearSouthEdge, SW, NW, SE, center));
+
+        // counterclockwise, starting from the westernmost (then southernmost) corner
+        assertThat(hull).containsExactly(SW, SE, NE, NW);
+    }
+
+    @Test
+    void convexHull_ofFewPoints_returnsDistinctPoints() {
+        assertThat(Spatial.convexHull(List.of())).isEmpty();
+        assertThat(Spatial.convexHull(List.of(SW, SW))).containsExactly(SW);
+        assertThat(Spatial.convexHull(List.of(NE, SW))).containsExactly(SW, NE);
+    }
+}
@@ -7,8 +7,8 @@ import java.util.List;
  * Fast nearest-neighbor implementation using a k-d tree.
  */
 public class KDTreePointSet<T extends Point> implements PointSet<T> {
-    private List<T> allPoints;
-    private PointNode overallRoot;
+    private final List<T> allPoints;
+    private final PointNode overallRoot;
 
     /**
      * Instantiates a new KDTreePointSet with a shuffled version of the given points.
@@ -33,12 +33,14 @@ public class KDTreePointSet<T extends Point> implements PointSet<T> {
      *               directly store and mutate the array).
      */
     KDTreePointSet(List<T> points) {
-        this.allPoints = points;
+        this.allPoints = Collections.unmodifiableList(points);
 
         // construct 2-d tree
-        for (T item : this.allPoints) {
-            overallRoot = insertNode(overallRoot, new PointNode(item), true);
+        PointNode root = null;
+        for (T item : points) {
+            root = insertNode(root, new PointNode(item), true);
         }
+        this.overallRoot = root;
     }
 
     private PointNode insertNode(PointNode root, PointNode curr, boolean isCompareX) {
@@ -67,38 +69,39 @@ public class KDTreePointSet<T extends Point> implements PointSet<T> {
      */
     @Override
     public T nearest(Point target) {
-        return findNearest(overallRoot, target, true, overallRoot.getItem(), Double.MAX_VALUE);
+        return nearest(target.x(), target.y());
     }
 
-    private T findNearest(PointNode root, Point target,
-                          boolean isCompareX, T minNode, double minDistance) {
+    /**
+     * Returns the point in this set closest to (x, y) in (usually) O(log N) time, where N is the
+     * number of points in this set.
+     *
+     * Unlike the default implementation, this does not allocate a target point, and the search
+     * itself only reads the tree, so it is safe to call concurrently from multiple threads.
+     */
+    @Override
+    public T nearest(double x, double y) {
+        return findNearest(overallRoot, x, y, true, overallRoot).getItem();
+    }
+
+    private PointNode findNearest(PointNode root, double x, double y, boolean isCompareX, PointNode best) {
         if (root == null) {
-            return minNode;
-        } else {
-            double currDist = root.distanceSquaredTo(target);
-            if (currDist < minDistance) {
-                minDistance = currDist;
-                minNode = root.getItem();
-            }
+            return best;
+        }
+        if (root.distanceSquaredTo(x, y) < best.distanceSquaredTo(x, y)) {
+            best = root;
+        }
 
-            T point;
-            if ((isCompareX && target.x() > root.x()) || (!isCompareX && target.y() > root.y())) {
-                point = findNearest(root.right, target, !isCompareX, minNode, minDistance);
-                double currMinDist = point.distanceSquaredTo(target);
-                if (((isCompareX && Math.pow(target.x() - root.x(), 2) < currMinDist) ||
-                    (!isCompareX && Math.pow(target.y() - root.y(), 2) < currMinDist))) {
-                    point = findNearest(root.left, target, !isCompareX, point, currMinDist);
-                }
-            } else {
-                point = findNearest(root.left, target, !isCompareX, minNode, minDistance);
-                double currMinDist = point.distanceSquaredTo(target);
-                if (((isCompareX && Math.pow(target.x() - root.x(), 2) < currMinDist) ||
-                    (!isCompareX && Math.pow(target.y() - root.y(), 2) < currMinDist))) {
-                    point = findNearest(root.right, target, !isCompareX, point, currMinDist);
-                }
-            }
-            return point;
+        double diff = isCompareX ? x - root.x() : y - root.y();
+        PointNode goodSide = diff > 0 ? root.right : root.left;
+        PointNode badSide = diff > 0 ? root.left : root.right;
+
+        best = findNearest(goodSide, x, y, !isCompareX, best);
+        // only look at the other side if it could possibly contain a closer point
+        if (diff * diff < best.distanceSquaredTo(x, y)) {
+            best = findNearest(badSide, x, y, !isCompareX, best);
         }
+        return best;
     }
 
 
@@ -111,7 +114,7 @@ public class KDTreePointSet<T extends Point> implements PointSet<T> {
     private class PointNode extends Point {
         public PointNode left;
         public PointNode right;
-        private T item;
+        private final T item;
 
         public PointNode(T item, PointNode left, PointNode right) {
             super(item.x(), item.y());